@@ -32,4 +32,21 @@ public class MemoryIntrinsics {
         // This seems to be faster than MemoryUtil.copyMemory in all cases.
         UNSAFE.copyMemory(src, dst, length);
     }
+
+    /**
+     * Copies {@param length} integers from the heap array {@param src}, starting at the index {@param srcIndex}, into
+     * the off-heap buffer {@param dst}.
+     * <p>
+     * WARNING: This function makes no attempt to verify that the parameters are correct. If you pass an invalid
+     * pointer or write memory outside the buffer, the JVM will likely crash!
+     *
+     * @param src The array to copy from
+     * @param srcIndex The index of the first integer to copy
+     * @param dst The destination pointer to begin copying into
+     * @param length The number of integers to copy
+     */
+    public static void copyMemory(int[] src, int srcIndex, long dst, int length) {
+        UNSAFE.copyMemory(src, Unsafe.ARRAY_INT_BASE_OFFSET + ((long) srcIndex * Integer.BYTES),
+                null, dst, (long) length * Integer.BYTES);
+    }
 }
@@ -300,6 +300,24 @@ public class SodiumGameOptionPages {
                         .setFlags(OptionFlag.REQUIRES_RENDERER_RELOAD)
                         .build()
                 )
+                .add(OptionImpl.createBuilder(boolean.class, sodiumOpts)
+                        .setName(Component.translatable("sodium.options.use_greedy_meshing.name"))
+                        .setTooltip(Component.translatable("sodium.options.use_greedy_meshing.tooltip"))
+                        .setControl(TickBoxControl::new)
+                        .setImpact(OptionImpact.MEDIUM)
+                        .setBinding((opts, value) -> opts.performance.useGreedyMeshing = value, opts -> opts.performance.useGreedyMeshing)
+                        .setFlags(OptionFlag.REQUIRES_RENDERER_RELOAD)
+                        .build()
+                )
+                .add(OptionImpl.createBuilder(boolean.class, sodiumOpts)
+                        .setName(Component.translatable("sodium.options.use_fluid_surface_merging.name"))
+                        .setTooltip(Component.translatable("sodium.options.use_fluid_surface_merging.tooltip"))
+                        .setControl(TickBoxControl::new)
+                        .setImpact(OptionImpact.MEDIUM)
+                        .setBinding((opts, value) -> opts.performance.useFluidSurfaceMerging = value, opts -> opts.performance.useFluidSurfaceMerging)
+                        .setFlags(OptionFlag.REQUIRES_RENDERER_RELOAD)
+                        .build()
+                )
                 .add(OptionImpl.createBuilder(boolean.class, sodiumOpts)
                         .setName(Component.translatable("sodium.options.use_fog_occlusion.name"))
                         .setTooltip(Component.translatable("sodium.options.use_fog_occlusion.tooltip"))
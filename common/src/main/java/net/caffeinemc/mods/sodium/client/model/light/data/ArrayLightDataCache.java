@@ -1,25 +1,34 @@
 package net.caffeinemc.mods.sodium.client.model.light.data;
 
+import net.caffeinemc.mods.sodium.client.world.BlockStatePropertyTable;
 import net.caffeinemc.mods.sodium.client.world.LevelSlice;
 import net.minecraft.core.SectionPos;
-import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.LightLayer;
+import net.minecraft.world.level.block.state.BlockState;
+
 import java.util.Arrays;
 
 /**
  * A light data cache which uses a flat-array to store the light data for the blocks in a given chunk and its direct
  * neighbors. This is considerably faster than using a hash table to lookup values for a given block position and
  * can be re-used by {@link LevelSlice} to avoid allocations.
+ *
+ * The cache can either be filled lazily, or all at once using {@link #fill()}, which reads the block states and light
+ * values directly from the level slice. In both cases, the position-independent fields of the light data are taken
+ * from the {@link BlockStatePropertyTable}.
  */
 public class ArrayLightDataCache extends LightDataAccess {
     private static final int NEIGHBOR_BLOCK_RADIUS = 2;
     private static final int BLOCK_LENGTH = 16 + (NEIGHBOR_BLOCK_RADIUS * 2);
 
+    private final LevelSlice slice;
     private final int[] light;
 
     private int xOffset, yOffset, zOffset;
 
-    public ArrayLightDataCache(BlockAndTintGetter level) {
+    public ArrayLightDataCache(LevelSlice level) {
         this.level = level;
+        this.slice = level;
         this.light = new int[BLOCK_LENGTH * BLOCK_LENGTH * BLOCK_LENGTH];
     }
 
@@ -31,6 +40,26 @@ public class ArrayLightDataCache extends LightDataAccess {
         Arrays.fill(this.light, 0);
     }
 
+    /**
+     * Computes the light data for every block in the cache. This must be called after the level slice has been
+     * populated with the data for the current origin.
+     */
+    public void fill() {
+        BlockStatePropertyTable table = BlockStatePropertyTable.get();
+
+        int[] light = this.light;
+        int index = 0;
+
+        // The blocks are visited in the same order as they are laid out in the array
+        for (int z = 0; z < BLOCK_LENGTH; z++) {
+            for (int y = 0; y < BLOCK_LENGTH; y++) {
+                for (int x = 0; x < BLOCK_LENGTH; x++) {
+                    light[index++] = this.computeFromSlice(table, this.xOffset + x, this.yOffset + y, this.zOffset + z);
+                }
+            }
+        }
+    }
+
     private int index(int x, int y, int z) {
         int x2 = x - this.xOffset;
         int y2 = y - this.yOffset;
@@ -49,6 +78,30 @@ public class ArrayLightDataCache extends LightDataAccess {
             return word;
         }
 
-        return this.light[l] = this.compute(x, y, z);
+        return this.light[l] = this.computeFromSlice(BlockStatePropertyTable.get(), x, y, z);
+    }
+
+    /**
+     * Equivalent to {@link #compute(int, int, int)}, but reads the block state and light values directly from the
+     * level slice.
+     */
+    private int computeFromSlice(BlockStatePropertyTable table, int x, int y, int z) {
+        BlockState state = this.slice.getBlockState(x, y, z);
+        int properties = table.getProperties(state);
+
+        if (BlockStatePropertyTable.unpackPL(properties)) {
+            return this.compute(x, y, z);
+        }
+
+        int flags = BlockStatePropertyTable.unpackLightFlags(properties);
+
+        // OPTIMIZE: Do not calculate light data if the block is full and opaque and does not emit light.
+        if (unpackFO(flags) && unpackLU(flags) == 0) {
+            return flags;
+        }
+
+        return withLight(flags,
+                this.slice.getBrightness(LightLayer.BLOCK, x, y, z),
+                this.slice.getBrightness(LightLayer.SKY, x, y, z));
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,32 @@
 package net.caffeinemc.mods.sodium.client.model.light.data;
 
-import it.unimi.dsi.fastutil.longs.Long2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.HashCommon;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.BlockAndTintGetter;
 
+import java.util.Arrays;
+
 /**
- * A light data cache which uses a hash table to store previously accessed values.
+ * A light data cache which stores previously accessed values in a fixed-size, 2-way set-associative table. Each block
+ * position maps to a set of two entries, and the least recently used entry of the set is replaced on a miss. Unlike
+ * a linked hash map, hits don't need to update any ordering besides a single byte per set.
+ *
+ * Each entry is stamped with the generation in which it was written, so that clearing the cache only requires the
+ * current generation to be incremented.
  */
 public class HashLightDataCache extends LightDataAccess {
-    private final Long2IntLinkedOpenHashMap map = new Long2IntLinkedOpenHashMap(1024, 0.50f);
+    private static final int SET_COUNT = 512;
+    private static final int WAYS = 2;
+
+    private final long[] keys = new long[SET_COUNT * WAYS];
+    private final int[] values = new int[SET_COUNT * WAYS];
+    private final int[] stamps = new int[SET_COUNT * WAYS];
+
+    // The way of each set which should be replaced next
+    private final byte[] victims = new byte[SET_COUNT];
+
+    // Entries are only valid if their stamp matches the current generation, so zero is never used
+    private int generation = 1;
 
     public HashLightDataCache(BlockAndTintGetter level) {
         this.level = level;
@@ -17,20 +35,50 @@ public class HashLightDataCache extends LightDataAccess {
     @Override
     public int get(int x, int y, int z) {
         long key = BlockPos.asLong(x, y, z);
-        int word = this.map.getAndMoveToFirst(key);
 
-        if (word == 0) {
-            if (this.map.size() > 1024) {
-                this.map.removeLastInt();
-            }
+        int set = (int) HashCommon.mix(key) & (SET_COUNT - 1);
+        int first = set * WAYS;
+        int second = first + 1;
+
+        if (this.stamps[first] == this.generation && this.keys[first] == key) {
+            this.victims[set] = 1;
+            return this.values[first];
+        }
+
+        if (this.stamps[second] == this.generation && this.keys[second] == key) {
+            this.victims[set] = 0;
+            return this.values[second];
+        }
+
+        int word = this.compute(x, y, z);
 
-            this.map.put(key, word = this.compute(x, y, z));
+        // Prefer filling an empty (or stale) entry before evicting the least recently used one
+        int slot;
+
+        if (this.stamps[first] != this.generation) {
+            slot = first;
+        } else if (this.stamps[second] != this.generation) {
+            slot = second;
+        } else {
+            slot = first + this.victims[set];
         }
 
+        this.keys[slot] = key;
+        this.values[slot] = word;
+        this.stamps[slot] = this.generation;
+
+        this.victims[set] = (byte) (slot == first ? 1 : 0);
+
         return word;
     }
 
     public void clearCache() {
-        this.map.clear();
+        this.generation++;
+
+        // The generation has wrapped around, so stale entries could become valid again
+        if (this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
     }
-}
\ No newline at end of file
+}
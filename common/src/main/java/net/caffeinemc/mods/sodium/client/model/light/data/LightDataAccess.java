@@ -1,6 +1,7 @@
 package net.caffeinemc.mods.sodium.client.model.light.data;
 
 import net.caffeinemc.mods.sodium.client.services.PlatformBlockAccess;
+import net.caffeinemc.mods.sodium.client.world.BlockStatePropertyTable;
 import net.minecraft.client.renderer.LevelRenderer;
 import net.minecraft.client.renderer.LightTexture;
 import net.minecraft.core.BlockPos;
@@ -64,8 +65,40 @@ public abstract class LightDataAccess {
 
         BlockState state = level.getBlockState(pos);
 
+        int properties = BlockStatePropertyTable.get().getProperties(state);
+
+        if (BlockStatePropertyTable.unpackPL(properties)) {
+            return computePositional(level, pos, state, properties);
+        }
+
+        int flags = BlockStatePropertyTable.unpackLightFlags(properties);
+
+        // OPTIMIZE: Do not calculate light data if the block is full and opaque and does not emit light.
+        if (unpackFO(flags) && unpackLU(flags) == 0) {
+            return flags;
+        }
+
+        return withLight(flags, level.getBrightness(LightLayer.BLOCK, pos), level.getBrightness(LightLayer.SKY, pos));
+    }
+
+    /**
+     * Combines the position-independent fields of a block's light data with the light values at its position. This
+     * matches {@link LevelRenderer#getLightColor(BlockAndTintGetter, BlockState, BlockPos)} for non-emissive blocks,
+     * which uses the luminance of the block as the minimum block light.
+     */
+    protected static int withLight(int flags, int blockLight, int skyLight) {
+        int bl = blockLight;
+
+        if (!unpackEM(flags)) {
+            bl = Math.max(bl, unpackLU(flags));
+        }
+
+        return flags | packSL(skyLight) | packBL(bl);
+    }
+
+    private static int computePositional(BlockAndTintGetter level, BlockPos pos, BlockState state, int properties) {
         boolean em = state.emissiveRendering(level, pos);
-        boolean op = state.isViewBlocking(level, pos) && state.getLightBlock() != 0;
+        boolean op = state.isViewBlocking(level, pos) && BlockStatePropertyTable.unpackLB(properties) != 0;
         boolean fo = state.isSolidRender();
         boolean fc = state.isCollisionShapeFullBlock(level, pos);
 
@@ -17,11 +17,14 @@ import net.caffeinemc.mods.sodium.client.render.chunk.lists.SortedRenderLists;
 import net.caffeinemc.mods.sodium.client.render.chunk.map.ChunkTracker;
 import net.caffeinemc.mods.sodium.client.render.chunk.map.ChunkTrackerHolder;
 import net.caffeinemc.mods.sodium.client.render.chunk.terrain.DefaultTerrainRenderPasses;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree.BSPTreeCache;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigger.CameraMovement;
 import net.caffeinemc.mods.sodium.client.render.viewport.Viewport;
 import net.caffeinemc.mods.sodium.client.services.PlatformBlockAccess;
 import net.caffeinemc.mods.sodium.client.util.NativeBuffer;
+import net.caffeinemc.mods.sodium.client.util.NativeBufferPool;
 import net.caffeinemc.mods.sodium.client.world.LevelRendererExtension;
+import net.caffeinemc.mods.sodium.client.world.biome.BlendedColorCache;
 import net.caffeinemc.mods.sodium.mixin.core.render.world.EntityRendererAccessor;
 import net.minecraft.client.Camera;
 import net.minecraft.client.Minecraft;
@@ -132,6 +135,10 @@ public class SodiumWorldRenderer {
             this.renderSectionManager = null;
         }
 
+        BlendedColorCache.clear();
+        BSPTreeCache.clear();
+        NativeBufferPool.trim();
+
         this.level = null;
     }
 
@@ -214,6 +221,7 @@ public class SodiumWorldRenderer {
         this.lastFogDistance = fogDistance;
 
         this.renderSectionManager.updateCameraState(pos, camera);
+        this.renderSectionManager.collectAsyncSortTriggers();
 
         if (cameraLocationChanged) {
             profiler.popPush("translucent_triggering");
@@ -248,6 +256,7 @@ public class SodiumWorldRenderer {
         profiler.popPush("chunk_render_tick");
 
         this.renderSectionManager.tickVisibleRenders();
+        this.renderSectionManager.startAsyncSortTriggering();
 
         profiler.pop();
 
@@ -276,6 +285,9 @@ public class SodiumWorldRenderer {
             return;
         }
 
+        // the colormaps may have changed with the resources, which the cached colors don't account for
+        BlendedColorCache.clear();
+
         try (CommandList commandList = RenderDevice.INSTANCE.createCommandList()) {
             this.initRenderer(commandList);
         }
@@ -288,6 +300,7 @@ public class SodiumWorldRenderer {
         }
 
         this.renderDistance = this.client.options.getEffectiveRenderDistance();
+        BlendedColorCache.setRenderDistance(this.renderDistance);
 
         this.renderSectionManager = new RenderSectionManager(this.level, this.renderDistance, commandList);
 
@@ -12,11 +12,13 @@ import net.caffeinemc.mods.sodium.client.SodiumClientMod;
 import net.caffeinemc.mods.sodium.client.gl.device.CommandList;
 import net.caffeinemc.mods.sodium.client.gl.device.RenderDevice;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.BuilderTaskOutput;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildBuffers;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildOutput;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkSortOutput;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.executor.ChunkBuilder;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.executor.ChunkJobResult;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.executor.ChunkJobCollector;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.ShapeComparisonCache;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.tasks.ChunkBuilderMeshingTask;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.tasks.ChunkBuilderSortingTask;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.tasks.ChunkBuilderTask;
@@ -31,6 +33,8 @@ import net.caffeinemc.mods.sodium.client.render.chunk.region.RenderRegionManager
 import net.caffeinemc.mods.sodium.client.render.chunk.terrain.TerrainRenderPass;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.SortBehavior.DeferMode;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.SortBehavior.PriorityMode;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree.BSPNode;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree.BSPTreeCache;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data.DynamicTopoData;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data.NoData;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data.TranslucentData;
@@ -42,6 +46,8 @@ import net.caffeinemc.mods.sodium.client.render.util.RenderAsserts;
 import net.caffeinemc.mods.sodium.client.render.viewport.CameraTransform;
 import net.caffeinemc.mods.sodium.client.render.viewport.Viewport;
 import net.caffeinemc.mods.sodium.client.util.MathUtil;
+import net.caffeinemc.mods.sodium.client.util.NativeBuffer;
+import net.caffeinemc.mods.sodium.client.util.NativeBufferPool;
 import net.caffeinemc.mods.sodium.client.world.LevelSlice;
 import net.caffeinemc.mods.sodium.client.world.cloned.ChunkRenderContext;
 import net.caffeinemc.mods.sodium.client.world.cloned.ClonedChunkSectionCache;
@@ -84,6 +90,9 @@ public class RenderSectionManager {
 
     private final SortTriggering sortTriggering;
 
+    // the camera movement to trigger sorts for asynchronously once the frame has been set up
+    private @Nullable CameraMovement pendingTriggerMovement;
+
     private ChunkJobCollector lastBlockingCollector;
 
     @NotNull
@@ -520,7 +529,38 @@ public class RenderSectionManager {
     }
 
     public void processGFNIMovement(CameraMovement movement) {
-        this.sortTriggering.triggerSections(this::scheduleSort, movement);
+        // if sorts are always deferred, triggering is done while the frame renders. With the other
+        // defer modes this would delay the sorts by an extra frame, since the sections triggered
+        // asynchronously are only scheduled at the start of the next frame.
+        if (SodiumClientMod.options().performance.getSortBehavior().getDeferMode() == DeferMode.ALWAYS) {
+            if (this.pendingTriggerMovement != null) {
+                movement = new CameraMovement(this.pendingTriggerMovement.start(), movement.end());
+            }
+
+            this.pendingTriggerMovement = movement;
+        } else {
+            this.sortTriggering.triggerSections(this::scheduleSort, movement);
+        }
+    }
+
+    /**
+     * Starts the asynchronous sort triggering for the camera movement of this
+     * frame, if there is any. This should be called once the frame has been set up
+     * so that the triggering runs while the frame is rendered.
+     */
+    public void startAsyncSortTriggering() {
+        if (this.pendingTriggerMovement != null) {
+            this.sortTriggering.triggerSectionsAsync(this.pendingTriggerMovement);
+            this.pendingTriggerMovement = null;
+        }
+    }
+
+    /**
+     * Schedules sorts for the sections triggered by the asynchronous sort
+     * triggering of the previous frame.
+     */
+    public void collectAsyncSortTriggers() {
+        this.sortTriggering.collectAsyncTriggers(this::scheduleSort);
     }
 
     public void markGraphDirty() {
@@ -537,6 +577,7 @@ public class RenderSectionManager {
 
     public void destroy() {
         this.builder.shutdown(); // stop all the workers, and cancel any tasks
+        this.sortTriggering.discardAsyncTriggers();
 
         for (var result : this.collectChunkBuildResults()) {
             result.destroy(); // delete resources for any pending tasks (including those that were cancelled)
@@ -708,6 +749,26 @@ public class RenderSectionManager {
                 this.taskLists.get(ChunkUpdateType.INITIAL_BUILD).size())
         );
 
+        list.add(String.format("Shape Cache: Hits=%d | Misses=%d",
+                ShapeComparisonCache.getHitCount(), ShapeComparisonCache.getMissCount())
+        );
+
+        list.add(String.format("BSP Cache: Hits=%d | Misses=%d | Forked Builds=%d",
+                BSPTreeCache.getHitCount(), BSPTreeCache.getMissCount(), BSPNode.getForkedBuildCount())
+        );
+
+        list.add(String.format("Mesh Buffers: Handed Over=%d | Copied=%d",
+                ChunkBuildBuffers.getHandedOverMeshCount(), ChunkBuildBuffers.getCopiedMeshCount())
+        );
+
+        long poolHits = NativeBufferPool.getHitCount();
+        long poolRequests = poolHits + NativeBufferPool.getMissCount();
+
+        list.add(String.format("Native Buffers: %d MiB (Pooled %d MiB) | Hit Rate=%d%%",
+                MathUtil.toMib(NativeBuffer.getUsedBytes()), MathUtil.toMib(NativeBufferPool.getRetainedBytes()),
+                poolRequests != 0 ? (poolHits * 100) / poolRequests : 0)
+        );
+
         this.sortTriggering.addDebugStrings(list);
 
         return list;
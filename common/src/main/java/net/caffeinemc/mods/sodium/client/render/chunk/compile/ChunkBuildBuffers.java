@@ -13,16 +13,19 @@ import net.caffeinemc.mods.sodium.client.render.chunk.vertex.builder.ChunkMeshBu
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexType;
 import net.caffeinemc.mods.sodium.client.util.NativeBuffer;
 
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A collection of temporary buffers for each worker thread which will be used to build chunk meshes for given render
- * passes. This makes a best-effort attempt to pick a suitable size for each scratch buffer, but will never try to
- * shrink a buffer.
+ * passes. This makes a best-effort attempt to pick a suitable size for each scratch buffer, and only shrinks a buffer
+ * once recent meshes have been much smaller than it.
  */
 public class ChunkBuildBuffers {
+    private static final LongAdder HANDED_OVER_MESHES = new LongAdder();
+    private static final LongAdder COPIED_MESHES = new LongAdder();
+
     private final Reference2ReferenceOpenHashMap<TerrainRenderPass, BakedChunkModelBuilder> builders = new Reference2ReferenceOpenHashMap<>();
 
     private final ChunkVertexType vertexType;
@@ -57,13 +60,15 @@ public class ChunkBuildBuffers {
 
     /**
      * Creates immutable baked chunk meshes from all non-empty scratch buffers. This is used after all blocks
-     * have been rendered to pass the finished meshes over to the graphics card. This function can be called multiple
-     * times to return multiple copies.
+     * have been rendered to pass the finished meshes over to the graphics card. The vertices of all facings are
+     * gathered in the first non-empty scratch buffer, whose native buffer is then handed over as the mesh without
+     * copying it, which leaves the scratch buffer empty. This function must therefore only be called once per pass and
+     * task. If the scratch buffer is mostly unused, the vertices are copied into a new buffer instead.
      */
     public BuiltSectionMeshParts createMesh(TerrainRenderPass pass, boolean forceUnassigned) {
         var builder = this.builders.get(pass);
 
-        List<ByteBuffer> vertexBuffers = new ArrayList<>();
+        List<ChunkMeshBufferBuilder> vertexBuffers = new ArrayList<>();
         int[] vertexCounts = new int[ModelQuadFacing.COUNT];
 
         int vertexSum = 0;
@@ -76,7 +81,7 @@ public class ChunkBuildBuffers {
                 continue;
             }
 
-            vertexBuffers.add(buffer.slice());
+            vertexBuffers.add(buffer);
             var bufferCount = buffer.count();
             if (!forceUnassigned) {
                 vertexCounts[ordinal] = bufferCount;
@@ -93,16 +98,32 @@ public class ChunkBuildBuffers {
             vertexCounts[ModelQuadFacing.UNASSIGNED.ordinal()] = vertexSum;
         }
 
-        var mergedBuffer = new NativeBuffer(vertexSum * this.vertexType.getVertexFormat().getStride());
-        var mergedBufferBuilder = mergedBuffer.getDirectBuffer();
+        var firstBuffer = vertexBuffers.get(0);
+
+        for (int i = 1; i < vertexBuffers.size(); i++) {
+            firstBuffer.append(vertexBuffers.get(i));
+        }
+
+        NativeBuffer mergedBuffer = firstBuffer.takeVertexData();
 
-        for (var buffer : vertexBuffers) {
-            mergedBufferBuilder.put(buffer);
+        if (mergedBuffer != null) {
+            HANDED_OVER_MESHES.increment();
+        } else {
+            mergedBuffer = NativeBuffer.copy(firstBuffer.slice());
+            COPIED_MESHES.increment();
         }
 
         return new BuiltSectionMeshParts(mergedBuffer, vertexCounts);
     }
 
+    public static long getHandedOverMeshCount() {
+        return HANDED_OVER_MESHES.sum();
+    }
+
+    public static long getCopiedMeshCount() {
+        return COPIED_MESHES.sum();
+    }
+
     public void destroy() {
         for (var builder : this.builders.values()) {
             builder.destroy();
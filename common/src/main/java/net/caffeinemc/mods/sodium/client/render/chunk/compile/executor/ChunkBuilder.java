@@ -7,6 +7,7 @@ import net.caffeinemc.mods.sodium.client.render.chunk.compile.BuilderTaskOutput;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildContext;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.tasks.ChunkBuilderTask;
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexType;
+import net.caffeinemc.mods.sodium.client.util.NativeBufferPool;
 import net.minecraft.SharedConstants;
 import net.minecraft.client.multiplayer.ClientLevel;
 import net.minecraft.util.Mth;
@@ -197,34 +198,39 @@ public class ChunkBuilder {
 
         @Override
         public void run() {
-            // Run until the chunk builder shuts down
-            while (ChunkBuilder.this.queue.isRunning()) {
-                ChunkJob job;
-
-                try {
-                    job = ChunkBuilder.this.queue.waitForNextJob();
-                } catch (InterruptedException ignored) {
-                    continue;
-                }
+            try {
+                // Run until the chunk builder shuts down
+                while (ChunkBuilder.this.queue.isRunning()) {
+                    ChunkJob job;
 
-                if (job == null) {
-                    // might mean we are not running anymore... go around and check isRunning
-                    continue;
-                }
+                    try {
+                        job = ChunkBuilder.this.queue.waitForNextJob();
+                    } catch (InterruptedException ignored) {
+                        continue;
+                    }
 
-                ChunkBuilder.this.busyThreadCount.getAndIncrement();
+                    if (job == null) {
+                        // might mean we are not running anymore... go around and check isRunning
+                        continue;
+                    }
 
-                Zone zone = TracyClient.beginZone(name, SharedConstants.IS_RUNNING_IN_IDE);
+                    ChunkBuilder.this.busyThreadCount.getAndIncrement();
 
-                try {
-                    job.execute(this.context);
-                } finally {
-                    this.context.cleanup();
+                    Zone zone = TracyClient.beginZone(name, SharedConstants.IS_RUNNING_IN_IDE);
 
-                    ChunkBuilder.this.busyThreadCount.decrementAndGet();
-                }
+                    try {
+                        job.execute(this.context);
+                    } finally {
+                        this.context.cleanup();
+
+                        ChunkBuilder.this.busyThreadCount.decrementAndGet();
+                    }
 
-                zone.close();
+                    zone.close();
+                }
+            } finally {
+                // Return the pooled buffers of this thread even if a job failed
+                NativeBufferPool.releaseThreadCache();
             }
         }
     }
@@ -0,0 +1,141 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
+import net.caffeinemc.mods.sodium.client.util.DirectionUtil;
+import net.caffeinemc.mods.sodium.client.world.BlockStateExtension;
+import net.caffeinemc.mods.sodium.client.world.BlockStateIds;
+import net.minecraft.core.Direction;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A dense table which classifies the face occlusion shape of every block state in every direction. Faces are either
+ * empty, a full block face, or a partial shape. Partial shapes are interned so that each distinct shape has a unique
+ * ID, and comparisons between them are cached by the {@link ShapeComparisonCache}.
+ *
+ * The table is shared between all chunk builder threads, and is re-created after the block state cache is rebuilt.
+ */
+public class BlockFaceOcclusionTable {
+    public static final int FACE_EMPTY = 0;
+    public static final int FACE_FULL = 1;
+
+    // A partial face of a block state which isn't known to the table, which has no shape ID
+    private static final int FACE_UNKNOWN = -1;
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    private static volatile BlockFaceOcclusionTable INSTANCE;
+
+    private final int stateIdGeneration;
+    private final int[] faces;
+    private final VoxelShape[] shapes;
+
+    private BlockFaceOcclusionTable(int stateIdGeneration, int[] faces, VoxelShape[] shapes) {
+        this.stateIdGeneration = stateIdGeneration;
+        this.faces = faces;
+        this.shapes = shapes;
+    }
+
+    public static BlockFaceOcclusionTable get() {
+        BlockFaceOcclusionTable table = INSTANCE;
+
+        if (table == null) {
+            int generation = GENERATION.get();
+            table = build();
+
+            // Only publish the table if the block state cache wasn't rebuilt in the meantime
+            if (GENERATION.get() == generation) {
+                INSTANCE = table;
+            }
+        }
+
+        return table;
+    }
+
+    public static void invalidate() {
+        GENERATION.incrementAndGet();
+        INSTANCE = null;
+    }
+
+    private static BlockFaceOcclusionTable build() {
+        int stateIdGeneration = BlockStateIds.getGeneration();
+
+        var shapeIds = new Reference2IntOpenHashMap<VoxelShape>();
+        shapeIds.defaultReturnValue(-1);
+
+        var shapes = new ReferenceArrayList<VoxelShape>();
+        shapes.add(Shapes.empty());
+        shapes.add(Shapes.block());
+
+        int[] faces = new int[Block.BLOCK_STATE_REGISTRY.size() * DirectionUtil.ALL_DIRECTIONS.length];
+
+        for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+            int stateId = Block.BLOCK_STATE_REGISTRY.getId(state);
+
+            for (Direction direction : DirectionUtil.ALL_DIRECTIONS) {
+                VoxelShape shape = state.getFaceOcclusionShape(direction);
+                int face = classify(shape);
+
+                if (face == FACE_UNKNOWN) {
+                    face = shapeIds.getInt(shape);
+
+                    if (face == -1) {
+                        face = shapes.size();
+                        shapes.add(shape);
+                        shapeIds.put(shape, face);
+                    }
+                }
+
+                faces[index(stateId, direction)] = face;
+            }
+        }
+
+        return new BlockFaceOcclusionTable(stateIdGeneration, faces, shapes.toArray(new VoxelShape[0]));
+    }
+
+    /**
+     * @return The classification of the face of the block state, which is either {@link #FACE_EMPTY},
+     * {@link #FACE_FULL}, or the ID of the partial face shape
+     */
+    public int getFace(BlockState state, Direction direction) {
+        int stateId = ((BlockStateExtension) state).sodium$getStateId(this.stateIdGeneration);
+
+        if (stateId >= 0) {
+            int index = index(stateId, direction);
+
+            if (index < this.faces.length) {
+                return this.faces[index];
+            }
+        }
+
+        return classify(state.getFaceOcclusionShape(direction));
+    }
+
+    /**
+     * Checks whether any part of the face {@param self} is left uncovered by the face {@param other}.
+     */
+    public boolean isFaceVisible(BlockState selfState, Direction selfFacing, int self, BlockState otherState, int other) {
+        VoxelShape selfShape = self != FACE_UNKNOWN ? this.shapes[self] : selfState.getFaceOcclusionShape(selfFacing);
+        VoxelShape otherShape = other != FACE_UNKNOWN ? this.shapes[other] : otherState.getFaceOcclusionShape(DirectionUtil.getOpposite(selfFacing));
+
+        return ShapeComparisonCache.isNotCovered(selfShape, otherShape);
+    }
+
+    private static int classify(VoxelShape shape) {
+        if (shape == Shapes.block()) {
+            return FACE_FULL;
+        } else if (shape == Shapes.empty() || shape.isEmpty()) {
+            return FACE_EMPTY;
+        }
+
+        return FACE_UNKNOWN;
+    }
+
+    private static int index(int stateId, Direction direction) {
+        return (stateId * DirectionUtil.ALL_DIRECTIONS.length) + direction.get3DDataValue();
+    }
+}
@@ -48,6 +48,7 @@ public class BlockRenderCache {
     public void init(ChunkRenderContext context) {
         this.lightDataCache.reset(context.getOrigin());
         this.levelSlice.copyData(context);
+        this.lightDataCache.fill();
     }
 
     public LevelSlice getWorldSlice() {
@@ -9,6 +9,7 @@ import net.caffeinemc.mods.sodium.client.model.color.ColorProviderRegistry;
 import net.caffeinemc.mods.sodium.client.model.light.LightMode;
 import net.caffeinemc.mods.sodium.client.model.light.LightPipelineProvider;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
+import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFlags;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadOrientation;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildBuffers;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.buffers.ChunkModelBuilder;
@@ -56,6 +57,10 @@ public class BlockRenderer extends AbstractBlockRenderContext {
     private ColorProvider<BlockState> colorProvider;
     private TranslucentGeometryCollector collector;
 
+    private final GreedyQuadMesher greedyMesher = new GreedyQuadMesher();
+    private final StaticModelQuadCache staticModelCache = new StaticModelQuadCache();
+    private boolean useGreedyMeshing;
+
     public BlockRenderer(ColorProviderRegistry colorRegistry, LightPipelineProvider lighters) {
         this.colorProviderRegistry = colorRegistry;
         this.lighters = lighters;
@@ -63,14 +68,29 @@ public class BlockRenderer extends AbstractBlockRenderContext {
         this.random = new SingleThreadedRandomSource(42L);
     }
 
-    public void prepare(ChunkBuildBuffers buffers, LevelSlice level, TranslucentGeometryCollector collector) {
+    public void prepare(ChunkBuildBuffers buffers, LevelSlice level, TranslucentGeometryCollector collector, boolean useGreedyMeshing) {
         this.buffers = buffers;
         this.level = level;
         this.collector = collector;
         this.slice = level;
+        this.useGreedyMeshing = useGreedyMeshing;
+
+        this.greedyMesher.reset();
+    }
+
+    /**
+     * Writes the faces which have been collected for greedy meshing into the solid render pass. This must be called
+     * once after all blocks of the section have been rendered.
+     */
+    public void flushGreedyQuads() {
+        if (this.useGreedyMeshing) {
+            this.greedyMesher.flush(this.buffers);
+        }
     }
 
     public void release() {
+        this.greedyMesher.reset();
+
         this.buffers = null;
         this.level = null;
         this.collector = null;
@@ -100,15 +120,34 @@ public class BlockRenderer extends AbstractBlockRenderContext {
 
         Iterable<RenderType> renderTypes = PlatformModelAccess.getInstance().getModelRenderTypes(level, model, state, pos, random, modelData);
 
+        // Models whose quads only depend on the block state can skip the model entirely and use pre-decoded quads
+        boolean useStaticModelCache = StaticModelQuadCache.isStatic(model) && !this.hasTransform();
+
         for (RenderType type : renderTypes) {
             this.type = type;
-            ((FabricBakedModel) model).emitBlockQuads(this.level, state, pos, this.randomSupplier, this);
+
+            if (useStaticModelCache) {
+                this.bufferStaticModel(model, state, this.getStaticModelQuads(model, state));
+            } else {
+                ((FabricBakedModel) model).emitBlockQuads(this.level, state, pos, this.randomSupplier, this);
+            }
         }
 
         type = null;
         modelData = SodiumModelData.EMPTY;
     }
 
+    private StaticModelQuadCache.Entry getStaticModelQuads(BakedModel model, BlockState state) {
+        StaticModelQuadCache.Entry entry = this.staticModelCache.get(model);
+
+        if (entry == null) {
+            entry = this.encodeStaticModel(model, state);
+            this.staticModelCache.put(model, entry);
+        }
+
+        return entry;
+    }
+
     /**
      * Process quad, after quad transforms and the culling check have been applied.
      */
@@ -203,12 +242,29 @@ public class BlockRenderer extends AbstractBlockRenderContext {
         }
 
         ChunkModelBuilder builder = this.buffers.get(pass);
+
+        // full block faces of the solid pass are merged with their neighbors once the whole section has been rendered
+        if (this.useGreedyMeshing && pass == DefaultTerrainRenderPasses.SOLID && this.isGreedyMeshingCandidate(quad, normalFace)
+                && this.greedyMesher.add(vertices, quad.lightFace(), atlasSprite, materialBits)) {
+            builder.addSprite(atlasSprite);
+            return;
+        }
+
         ChunkMeshBufferBuilder vertexBuffer = builder.getVertexBuffer(normalFace);
         vertexBuffer.push(vertices, materialBits);
 
         builder.addSprite(atlasSprite);
     }
 
+    private boolean isGreedyMeshingCandidate(MutableQuadViewImpl quad, ModelQuadFacing normalFace) {
+        int flags = quad.geometryFlags();
+
+        return !this.state.hasOffsetFunction() &&
+                ModelQuadFlags.contains(flags, ModelQuadFlags.IS_ALIGNED) &&
+                !ModelQuadFlags.contains(flags, ModelQuadFlags.IS_PARTIAL) &&
+                normalFace == ModelQuadFacing.fromDirection(quad.lightFace());
+    }
+
     private boolean validateQuadUVs(TextureAtlasSprite atlasSprite) {
         // sanity check that the quad's UVs are within the sprite's bounds
         var spriteUMin = atlasSprite.getU0();
@@ -14,6 +14,7 @@ import net.caffeinemc.mods.sodium.client.model.quad.ModelQuadView;
 import net.caffeinemc.mods.sodium.client.model.quad.ModelQuadViewMutable;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFlags;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildBuffers;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.buffers.ChunkModelBuilder;
 import net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.Material;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TranslucentGeometryCollector;
@@ -49,6 +50,11 @@ public class DefaultFluidRenderer {
     private final MutableFloat scratchHeight = new MutableFloat(0);
     private final MutableInt scratchSamples = new MutableInt();
 
+    private final FluidHeightGrid heightGrid = new FluidHeightGrid();
+    private final FluidSurfaceMesher surfaceMesher = new FluidSurfaceMesher();
+
+    private boolean useSurfaceMerging;
+
     private final ModelQuadViewMutable quad = new ModelQuad();
 
     private final LightPipelineProvider lighters;
@@ -65,6 +71,23 @@ public class DefaultFluidRenderer {
         this.lighters = lighters;
     }
 
+    public void prepare(boolean useSurfaceMerging) {
+        this.useSurfaceMerging = useSurfaceMerging;
+        this.surfaceMesher.reset();
+    }
+
+    /**
+     * Writes the top faces which have been collected for surface merging. This must be called after all fluids of the
+     * section have been rendered.
+     */
+    public void flush(ChunkBuildBuffers buffers, TranslucentGeometryCollector collector) {
+        if (this.useSurfaceMerging) {
+            this.surfaceMesher.flush(buffers, collector);
+        }
+
+        this.surfaceMesher.reset();
+    }
+
     private boolean isFluidOccluded(BlockAndTintGetter world, int x, int y, int z, Direction dir, BlockState blockState, Fluid fluid) {
         //Test own block state first, this prevents waterlogged blocks from having hidden internal geometry
         // which can result in z-fighting
@@ -123,7 +146,10 @@ public class DefaultFluidRenderer {
 
         boolean isWater = fluidState.is(FluidTags.WATER);
 
-        float fluidHeight = this.fluidHeight(level, fluid, blockPos, Direction.UP);
+        FluidHeightGrid heights = this.heightGrid;
+        heights.prepare(level, posX, posY, posZ);
+
+        float fluidHeight = heights.getHeight(fluid, posX, posY, posZ);
         float northWestHeight, southWestHeight, southEastHeight, northEastHeight;
         if (fluidHeight >= 1.0f) {
             northWestHeight = 1.0f;
@@ -131,23 +157,14 @@ public class DefaultFluidRenderer {
             southEastHeight = 1.0f;
             northEastHeight = 1.0f;
         } else {
-            var scratchPos = new BlockPos.MutableBlockPos();
-            float heightNorth = this.fluidHeight(level, fluid, scratchPos.setWithOffset(blockPos, Direction.NORTH), Direction.NORTH);
-            float heightSouth = this.fluidHeight(level, fluid, scratchPos.setWithOffset(blockPos, Direction.SOUTH), Direction.SOUTH);
-            float heightEast = this.fluidHeight(level, fluid, scratchPos.setWithOffset(blockPos, Direction.EAST), Direction.EAST);
-            float heightWest = this.fluidHeight(level, fluid, scratchPos.setWithOffset(blockPos, Direction.WEST), Direction.WEST);
-            northWestHeight = this.fluidCornerHeight(level, fluid, fluidHeight, heightNorth, heightWest, scratchPos.set(blockPos)
-                    .move(Direction.NORTH)
-                    .move(Direction.WEST));
-            southWestHeight = this.fluidCornerHeight(level, fluid, fluidHeight, heightSouth, heightWest, scratchPos.set(blockPos)
-                    .move(Direction.SOUTH)
-                    .move(Direction.WEST));
-            southEastHeight = this.fluidCornerHeight(level, fluid, fluidHeight, heightSouth, heightEast, scratchPos.set(blockPos)
-                    .move(Direction.SOUTH)
-                    .move(Direction.EAST));
-            northEastHeight = this.fluidCornerHeight(level, fluid, fluidHeight, heightNorth, heightEast, scratchPos.set(blockPos)
-                    .move(Direction.NORTH)
-                    .move(Direction.EAST));
+            float heightNorth = heights.getHeight(fluid, posX, posY, posZ - 1);
+            float heightSouth = heights.getHeight(fluid, posX, posY, posZ + 1);
+            float heightEast = heights.getHeight(fluid, posX + 1, posY, posZ);
+            float heightWest = heights.getHeight(fluid, posX - 1, posY, posZ);
+            northWestHeight = this.fluidCornerHeight(fluid, fluidHeight, heightNorth, heightWest, posX - 1, posY, posZ - 1);
+            southWestHeight = this.fluidCornerHeight(fluid, fluidHeight, heightSouth, heightWest, posX - 1, posY, posZ + 1);
+            southEastHeight = this.fluidCornerHeight(fluid, fluidHeight, heightSouth, heightEast, posX + 1, posY, posZ + 1);
+            northEastHeight = this.fluidCornerHeight(fluid, fluidHeight, heightNorth, heightEast, posX + 1, posY, posZ - 1);
         }
         float yOffset = sfDown ? 0.0F : EPSILON;
 
@@ -235,11 +252,16 @@ public class DefaultFluidRenderer {
             }
 
             this.updateQuad(quad, level, blockPos, lighter, Direction.UP, ModelQuadFacing.POS_Y, 1.0F, colorProvider, fluidState);
-            this.writeQuad(meshBuilder, collector, material, offset, quad, aligned ? ModelQuadFacing.POS_Y : ModelQuadFacing.UNASSIGNED, false);
 
-            if (fluidState.shouldRenderBackwardUpFace(level, this.scratchPos.set(posX, posY + 1, posZ))) {
-                this.writeQuad(meshBuilder, collector, material, offset, quad,
-                        aligned ? ModelQuadFacing.NEG_Y : ModelQuadFacing.UNASSIGNED, true);
+            boolean renderBackFace = fluidState.shouldRenderBackwardUpFace(level, this.scratchPos.set(posX, posY + 1, posZ));
+
+            if (!this.useSurfaceMerging || sprite != sprites[0] || !this.addMergedSurface(offset, quad, material, renderBackFace)) {
+                this.writeQuad(meshBuilder, collector, material, offset, quad, aligned ? ModelQuadFacing.POS_Y : ModelQuadFacing.UNASSIGNED, false);
+
+                if (renderBackFace) {
+                    this.writeQuad(meshBuilder, collector, material, offset, quad,
+                            aligned ? ModelQuadFacing.NEG_Y : ModelQuadFacing.UNASSIGNED, true);
+                }
             }
         }
 
@@ -368,6 +390,24 @@ public class DefaultFluidRenderer {
         }
     }
 
+    /**
+     * Attempts to defer the top face of a still fluid for surface merging, which is only possible when its color, light
+     * and shading are the same at every vertex.
+     */
+    private boolean addMergedSurface(BlockPos offset, ModelQuadView quad, Material material, boolean renderBackFace) {
+        int[] colors = this.quadColors;
+        float[] brightness = this.brightness;
+        int[] lightmap = this.quadLightData.lm;
+
+        for (int i = 1; i < 4; i++) {
+            if (colors[i] != colors[0] || brightness[i] != brightness[0] || lightmap[i] != lightmap[0]) {
+                return false;
+            }
+        }
+
+        return this.surfaceMesher.add(offset.getX(), offset.getY(), offset.getZ(), quad, colors[0], brightness[0], lightmap[0], material, renderBackFace);
+    }
+
     private static boolean isAlignedEquals(float a, float b) {
         return Math.abs(a - b) <= ALIGNED_EQUALS_EPSILON;
     }
@@ -450,13 +490,13 @@ public class DefaultFluidRenderer {
         quad.setTexV(i, v);
     }
 
-    private float fluidCornerHeight(BlockAndTintGetter world, Fluid fluid, float fluidHeight, float fluidHeightX, float fluidHeightY, BlockPos blockPos) {
+    private float fluidCornerHeight(Fluid fluid, float fluidHeight, float fluidHeightX, float fluidHeightY, int cornerX, int cornerY, int cornerZ) {
         if (fluidHeightY >= 1.0f || fluidHeightX >= 1.0f) {
             return 1.0f;
         }
 
         if (fluidHeightY > 0.0f || fluidHeightX > 0.0f) {
-            float height = this.fluidHeight(world, fluid, blockPos, Direction.UP);
+            float height = this.heightGrid.getHeight(fluid, cornerX, cornerY, cornerZ);
 
             if (height >= 1.0f) {
                 return 1.0f;
@@ -485,23 +525,4 @@ public class DefaultFluidRenderer {
             samples.increment();
         }
     }
-
-    private float fluidHeight(BlockAndTintGetter world, Fluid fluid, BlockPos blockPos, Direction direction) {
-        BlockState blockState = world.getBlockState(blockPos);
-        FluidState fluidState = blockState.getFluidState();
-
-        if (fluid.isSame(fluidState.getType())) {
-            FluidState fluidStateUp = world.getFluidState(blockPos.above());
-
-            if (fluid.isSame(fluidStateUp.getType())) {
-                return 1.0f;
-            } else {
-                return fluidState.getOwnHeight();
-            }
-        }
-        if (!blockState.isSolid()) {
-            return 0.0f;
-        }
-        return -1.0f;
-    }
 }
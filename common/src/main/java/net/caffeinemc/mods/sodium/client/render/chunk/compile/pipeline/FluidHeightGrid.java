@@ -0,0 +1,102 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline;
+
+import net.caffeinemc.mods.sodium.client.world.LevelSlice;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.Fluid;
+import net.minecraft.world.level.material.FluidState;
+
+import java.util.Arrays;
+
+/**
+ * Caches the fluid height of each block in a chunk section and its horizontal neighbors, as seen by a given fluid.
+ * The corner heights of a fluid block are derived from the heights of the block and its eight horizontal neighbors,
+ * so without this cache, each block in a body of fluid would be sampled up to nine times.
+ *
+ * Heights are computed on first use, and are only valid for the version of the level slice they were computed from.
+ */
+class FluidHeightGrid {
+    private static final int SECTION_SIZE = 16;
+
+    // Each layer of the grid includes a border of one block around the section
+    private static final int LAYER_LENGTH = SECTION_SIZE + 2;
+    private static final int CELL_COUNT = LAYER_LENGTH * LAYER_LENGTH * SECTION_SIZE;
+
+    private final float[] heights = new float[CELL_COUNT];
+    private final Fluid[] fluids = new Fluid[CELL_COUNT];
+    private final int[] stamps = new int[CELL_COUNT];
+
+    private LevelSlice level;
+    private int version;
+
+    private int originX, originY, originZ;
+
+    /**
+     * Prepares the grid for rendering the fluid at the given position. The grid is re-used as long as the level slice
+     * still contains the same data.
+     */
+    public void prepare(LevelSlice level, int x, int y, int z) {
+        if (this.level != level) {
+            Arrays.fill(this.stamps, 0);
+
+            this.level = level;
+        } else if (this.version == level.getVersion()) {
+            return;
+        }
+
+        this.version = level.getVersion();
+
+        this.originX = x & ~(SECTION_SIZE - 1);
+        this.originY = y & ~(SECTION_SIZE - 1);
+        this.originZ = z & ~(SECTION_SIZE - 1);
+
+        // Don't hold onto fluids from a previous version of the slice
+        Arrays.fill(this.fluids, null);
+    }
+
+    public float getHeight(Fluid fluid, int x, int y, int z) {
+        int cellX = x - this.originX + 1;
+        int cellY = y - this.originY;
+        int cellZ = z - this.originZ + 1;
+
+        if (cellX < 0 || cellX >= LAYER_LENGTH || cellY < 0 || cellY >= SECTION_SIZE || cellZ < 0 || cellZ >= LAYER_LENGTH) {
+            return computeHeight(this.level, fluid, x, y, z);
+        }
+
+        int index = (cellY * LAYER_LENGTH * LAYER_LENGTH) + (cellZ * LAYER_LENGTH) + cellX;
+
+        if (this.stamps[index] == this.version && this.fluids[index] == fluid) {
+            return this.heights[index];
+        }
+
+        float height = computeHeight(this.level, fluid, x, y, z);
+
+        this.heights[index] = height;
+        this.fluids[index] = fluid;
+        this.stamps[index] = this.version;
+
+        return height;
+    }
+
+    /**
+     * Returns the height of the fluid at the given position, which is 1.0 if the same fluid is above, 0.0 if there is
+     * no matching fluid and the block isn't solid, and -1.0 if the block is solid.
+     */
+    private static float computeHeight(LevelSlice level, Fluid fluid, int x, int y, int z) {
+        BlockState blockState = level.getBlockState(x, y, z);
+        FluidState fluidState = blockState.getFluidState();
+
+        if (fluid.isSame(fluidState.getType())) {
+            FluidState fluidStateUp = level.getBlockState(x, y + 1, z).getFluidState();
+
+            if (fluid.isSame(fluidStateUp.getType())) {
+                return 1.0f;
+            } else {
+                return fluidState.getOwnHeight();
+            }
+        }
+        if (!blockState.isSolid()) {
+            return 0.0f;
+        }
+        return -1.0f;
+    }
+}
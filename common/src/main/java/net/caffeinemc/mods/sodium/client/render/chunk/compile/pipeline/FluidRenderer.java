@@ -11,4 +11,17 @@ import net.minecraft.world.level.material.FluidState;
 
 public abstract class FluidRenderer {
     public abstract void render(LevelSlice level, BlockState blockState, FluidState fluidState, BlockPos blockPos, BlockPos offset, TranslucentGeometryCollector collector, ChunkBuildBuffers buffers);
+
+    /**
+     * Prepares the renderer for the next chunk section, discarding any geometry left over from the previous one.
+     *
+     * @param useSurfaceMerging Whether the flat surfaces of still fluids should be merged into larger quads
+     */
+    public abstract void prepare(boolean useSurfaceMerging);
+
+    /**
+     * Writes the geometry which has been deferred for surface merging into the given buffers. This must be called
+     * after all fluids of the section have been rendered.
+     */
+    public abstract void flush(ChunkBuildBuffers buffers, TranslucentGeometryCollector collector);
 }
@@ -0,0 +1,262 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline;
+
+import net.caffeinemc.mods.sodium.api.util.NormI8;
+import net.caffeinemc.mods.sodium.client.model.quad.ModelQuadView;
+import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildBuffers;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.buffers.ChunkModelBuilder;
+import net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.Material;
+import net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.parameters.MaterialParameters;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TranslucentGeometryCollector;
+import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexEncoder;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+
+import java.util.Arrays;
+
+/**
+ * Merges the flat top faces of still fluids into larger quads. Faces are only merged when they share the same height,
+ * sprite, texture bounds, color, light, shading and material, so the merged quads look exactly like the faces they
+ * replace. The texture is repeated once per block by the shader using planar tiled materials, which don't require the
+ * surface itself to be aligned to the block grid.
+ *
+ * Faces are collected while the fluids of a section are rendered, and are only written into the mesh buffers once
+ * {@link #flush(ChunkBuildBuffers, TranslucentGeometryCollector)} is called after all blocks have been processed.
+ */
+class FluidSurfaceMesher {
+    private static final int SECTION_SIZE = 16;
+    private static final int SLICE_SIZE = SECTION_SIZE * SECTION_SIZE;
+    private static final int FACE_COUNT = SLICE_SIZE * SECTION_SIZE;
+
+    private final TextureAtlasSprite[] sprites = new TextureAtlasSprite[FACE_COUNT];
+    private final Material[] materials = new Material[FACE_COUNT];
+    private final int[] heights = new int[FACE_COUNT];
+    private final int[] colors = new int[FACE_COUNT];
+    private final int[] lights = new int[FACE_COUNT];
+    private final int[] shades = new int[FACE_COUNT];
+    private final boolean[] backFaces = new boolean[FACE_COUNT];
+
+    // The texture coordinates at the lower and upper edges of each face, which are shrunk slightly by the renderer
+    private final float[] minU = new float[FACE_COUNT];
+    private final float[] maxU = new float[FACE_COUNT];
+    private final float[] minV = new float[FACE_COUNT];
+    private final float[] maxV = new float[FACE_COUNT];
+
+    private int faceCount;
+
+    private final boolean[] visited = new boolean[SLICE_SIZE];
+
+    private final ChunkVertexEncoder.Vertex[] vertices = ChunkVertexEncoder.Vertex.uninitializedQuad();
+
+    /**
+     * Attempts to collect the top face of the fluid at the given section-local block position for merging. The quad
+     * must be flat, with its texture coordinates increasing along the X and Z axes, and the caller must have verified
+     * that the color, light and shading are uniform across all vertices. Returns false if the face can't be merged, in
+     * which case the caller needs to render it as usual.
+     *
+     * @param backFace Whether the face is also visible from below, and needs a flipped copy
+     */
+    public boolean add(int x, int y, int z, ModelQuadView quad, int color, float shade, int light, Material material, boolean backFace) {
+        // The texture is sampled with explicit gradients, so mip-mapping can't be turned off for tiled quads
+        if (!material.mipped || MaterialParameters.isTiled(material.bits())) {
+            return false;
+        }
+
+        TextureAtlasSprite sprite = quad.getSprite();
+
+        if (sprite == null || x < 0 || x >= SECTION_SIZE || y < 0 || y >= SECTION_SIZE || z < 0 || z >= SECTION_SIZE) {
+            return false;
+        }
+
+        int index = (y * SLICE_SIZE) + (z * SECTION_SIZE) + x;
+
+        if (this.sprites[index] != null) {
+            return false;
+        }
+
+        float minU = Float.POSITIVE_INFINITY, maxU = Float.NEGATIVE_INFINITY;
+        float minV = Float.POSITIVE_INFINITY, maxV = Float.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < 4; i++) {
+            if (quad.getY(i) != quad.getY(0)) {
+                return false;
+            }
+
+            minU = Math.min(minU, quad.getTexU(i));
+            maxU = Math.max(maxU, quad.getTexU(i));
+            minV = Math.min(minV, quad.getTexV(i));
+            maxV = Math.max(maxV, quad.getTexV(i));
+        }
+
+        // The texture must increase along the X and Z axes of the face, which is what the shader assumes
+        for (int i = 0; i < 4; i++) {
+            if (quad.getTexU(i) != (quad.getX(i) < 0.5f ? minU : maxU) || quad.getTexV(i) != (quad.getZ(i) < 0.5f ? minV : maxV)) {
+                return false;
+            }
+        }
+
+        this.sprites[index] = sprite;
+        this.materials[index] = material;
+        this.heights[index] = Float.floatToRawIntBits(quad.getY(0));
+        this.colors[index] = color;
+        this.lights[index] = light;
+        this.shades[index] = Float.floatToRawIntBits(shade);
+        this.backFaces[index] = backFace;
+
+        this.minU[index] = minU;
+        this.maxU[index] = maxU;
+        this.minV[index] = minV;
+        this.maxV[index] = maxV;
+
+        this.faceCount++;
+
+        return true;
+    }
+
+    /**
+     * Merges all collected faces and writes the resulting quads into the render passes of their materials.
+     */
+    public void flush(ChunkBuildBuffers buffers, TranslucentGeometryCollector collector) {
+        if (this.faceCount != 0) {
+            for (int layer = 0; layer < SECTION_SIZE; layer++) {
+                this.mergeLayer(layer, buffers, collector);
+            }
+        }
+
+        this.reset();
+    }
+
+    private void mergeLayer(int layer, ChunkBuildBuffers buffers, TranslucentGeometryCollector collector) {
+        int offset = layer * SLICE_SIZE;
+
+        TextureAtlasSprite[] sprites = this.sprites;
+        boolean[] visited = this.visited;
+
+        Arrays.fill(visited, false);
+
+        for (int z = 0; z < SECTION_SIZE; z++) {
+            for (int x = 0; x < SECTION_SIZE; x++) {
+                int start = (z * SECTION_SIZE) + x;
+
+                if (visited[start] || sprites[offset + start] == null) {
+                    continue;
+                }
+
+                // Extend the quad along the X axis as far as possible
+                int width = 1;
+
+                while (x + width < SECTION_SIZE && this.canMerge(offset, start, start + width)) {
+                    width++;
+                }
+
+                // Then extend it along the Z axis while every face in the next row can be merged
+                int depth = 1;
+
+                grow:
+                while (z + depth < SECTION_SIZE) {
+                    int row = start + (depth * SECTION_SIZE);
+
+                    for (int i = 0; i < width; i++) {
+                        if (!this.canMerge(offset, start, row + i)) {
+                            break grow;
+                        }
+                    }
+
+                    depth++;
+                }
+
+                for (int j = 0; j < depth; j++) {
+                    Arrays.fill(visited, start + (j * SECTION_SIZE), start + (j * SECTION_SIZE) + width, true);
+                }
+
+                this.writeQuad(layer, x, z, width, depth, offset + start, buffers, collector);
+            }
+        }
+    }
+
+    private boolean canMerge(int offset, int origin, int target) {
+        int i = offset + origin;
+        int j = offset + target;
+
+        return !this.visited[target] &&
+                this.sprites[j] == this.sprites[i] &&
+                this.materials[j] == this.materials[i] &&
+                this.heights[j] == this.heights[i] &&
+                this.colors[j] == this.colors[i] &&
+                this.lights[j] == this.lights[i] &&
+                this.shades[j] == this.shades[i] &&
+                this.backFaces[j] == this.backFaces[i] &&
+                this.minU[j] == this.minU[i] &&
+                this.maxU[j] == this.maxU[i] &&
+                this.minV[j] == this.minV[i] &&
+                this.maxV[j] == this.maxV[i];
+    }
+
+    private void writeQuad(int layer, int x, int z, int width, int depth, int index, ChunkBuildBuffers buffers, TranslucentGeometryCollector collector) {
+        Material material = this.materials[index];
+        ChunkModelBuilder builder = buffers.get(material);
+
+        builder.addSprite(this.sprites[index]);
+
+        float y = layer + Float.intBitsToFloat(this.heights[index]);
+
+        // The vertices start at the north-east corner, which splits the quad along the north-east to south-west
+        // diagonal. This is the order the fluid renderer uses for flat top faces, while sloped top faces may instead
+        // start at the north-west corner and use the other diagonal.
+        this.writeQuad(builder, collector, material, index, x, y, z, width, depth, ModelQuadFacing.POS_Y, false);
+
+        if (this.backFaces[index]) {
+            this.writeQuad(builder, collector, material, index, x, y, z, width, depth, ModelQuadFacing.NEG_Y, true);
+        }
+    }
+
+    private void writeQuad(ChunkModelBuilder builder, TranslucentGeometryCollector collector, Material material, int index,
+                           int x, float y, int z, int width, int depth, ModelQuadFacing facing, boolean flip) {
+        var vertices = this.vertices;
+
+        setVertex(vertices[vertexIndex(0, flip)], x + width, y, z, this.maxU[index], this.minV[index]);
+        setVertex(vertices[vertexIndex(1, flip)], x, y, z, this.minU[index], this.minV[index]);
+        setVertex(vertices[vertexIndex(2, flip)], x, y, z + depth, this.minU[index], this.maxV[index]);
+        setVertex(vertices[vertexIndex(3, flip)], x + width, y, z + depth, this.maxU[index], this.maxV[index]);
+
+        float shade = Float.intBitsToFloat(this.shades[index]);
+
+        for (var vertex : vertices) {
+            vertex.color = this.colors[index];
+            vertex.ao = shade;
+            vertex.light = this.lights[index];
+        }
+
+        if (material.isTranslucent() && collector != null) {
+            int normal = facing.getPackedAlignedNormal();
+
+            if (flip) {
+                normal = NormI8.flipPacked(normal);
+            }
+
+            collector.appendQuad(normal, vertices, facing);
+        }
+
+        builder.getVertexBuffer(facing)
+                .push(vertices, MaterialParameters.withPlanarTiling(material.bits()));
+    }
+
+    private static int vertexIndex(int i, boolean flip) {
+        return flip ? (3 - i + 1) & 0b11 : i;
+    }
+
+    private static void setVertex(ChunkVertexEncoder.Vertex vertex, float x, float y, float z, float u, float v) {
+        vertex.x = x;
+        vertex.y = y;
+        vertex.z = z;
+        vertex.u = u;
+        vertex.v = v;
+    }
+
+    public void reset() {
+        if (this.faceCount != 0) {
+            Arrays.fill(this.sprites, null);
+            Arrays.fill(this.materials, null);
+            this.faceCount = 0;
+        }
+    }
+}
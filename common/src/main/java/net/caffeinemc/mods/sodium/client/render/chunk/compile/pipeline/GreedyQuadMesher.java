@@ -0,0 +1,418 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline;
+
+import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildBuffers;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.buffers.ChunkModelBuilder;
+import net.caffeinemc.mods.sodium.client.render.chunk.terrain.DefaultTerrainRenderPasses;
+import net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.parameters.MaterialParameters;
+import net.caffeinemc.mods.sodium.client.render.chunk.vertex.builder.ChunkMeshBufferBuilder;
+import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexEncoder;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Merges coplanar full block faces of the solid render pass into larger quads. Faces are only merged when they share
+ * the same sprite, texture orientation, color, light, ambient occlusion and material, so the merged quads look exactly
+ * like the faces they replace. The texture is repeated across merged quads by the shader using tiled materials.
+ *
+ * Faces are collected while the blocks of a section are rendered, and are only written into the mesh buffers once
+ * {@link #flush(ChunkBuildBuffers)} is called after all blocks have been processed.
+ */
+public class GreedyQuadMesher {
+    private static final float EPSILON = 1.0e-4f;
+
+    private static final int SECTION_SIZE = 16;
+    private static final int SLICE_SIZE = SECTION_SIZE * SECTION_SIZE;
+    private static final int FACE_COUNT = SLICE_SIZE * SECTION_SIZE;
+
+    // The texture coordinate of a face is derived from the position of the vertex within the block, along one
+    // of the two axes of the face plane (A or B) and optionally flipped.
+    private static final int MAPPING_A = 0, MAPPING_A_FLIPPED = 1, MAPPING_B = 2, MAPPING_B_FLIPPED = 3;
+
+    // The axis (0 = X, 1 = Y, 2 = Z) which is used as the A and B axis of the face plane, indexed by direction
+    private static final int[] PLANE_AXIS_A = new int[Direction.values().length];
+    private static final int[] PLANE_AXIS_B = new int[Direction.values().length];
+
+    static {
+        for (Direction direction : Direction.values()) {
+            int index = direction.get3DDataValue();
+
+            switch (direction.getAxis()) {
+                case X -> { PLANE_AXIS_A[index] = 2; PLANE_AXIS_B[index] = 1; }
+                case Y -> { PLANE_AXIS_A[index] = 0; PLANE_AXIS_B[index] = 2; }
+                case Z -> { PLANE_AXIS_A[index] = 0; PLANE_AXIS_B[index] = 1; }
+            }
+        }
+    }
+
+    private final TextureAtlasSprite[][] sprites = new TextureAtlasSprite[Direction.values().length][FACE_COUNT];
+    private final int[][] colors = new int[Direction.values().length][FACE_COUNT];
+    private final int[][] lights = new int[Direction.values().length][FACE_COUNT];
+    private final int[][] shades = new int[Direction.values().length][FACE_COUNT];
+    private final int[][] layouts = new int[Direction.values().length][FACE_COUNT];
+    private final int[][] materials = new int[Direction.values().length][FACE_COUNT];
+
+    private final int[] faceCounts = new int[Direction.values().length];
+
+    private final boolean[] visited = new boolean[SLICE_SIZE];
+    private final float[] position = new float[3];
+
+    private final ChunkVertexEncoder.Vertex[] vertices = ChunkVertexEncoder.Vertex.uninitializedQuad();
+
+    /**
+     * Attempts to collect the given quad for merging. The vertices must already be translated into section-local
+     * coordinates. Returns false if the quad isn't a full, axis-aligned block face with uniform attributes, in which
+     * case the caller needs to render it as usual.
+     */
+    public boolean add(ChunkVertexEncoder.Vertex[] vertices, Direction direction, TextureAtlasSprite sprite, int materialBits) {
+        // The texture is sampled with explicit gradients, so mip-mapping can't be turned off for tiled quads
+        if (!MaterialParameters.isMipped(materialBits) || MaterialParameters.isTiled(materialBits)) {
+            return false;
+        }
+
+        var first = vertices[0];
+
+        for (int i = 1; i < 4; i++) {
+            var vertex = vertices[i];
+
+            if (vertex.color != first.color || vertex.light != first.light || vertex.ao != first.ao) {
+                return false;
+            }
+        }
+
+        int dir = direction.get3DDataValue();
+        int axisA = PLANE_AXIS_A[dir];
+        int axisB = PLANE_AXIS_B[dir];
+        int axisN = direction.getAxis().ordinal();
+
+        // The position of the face plane, which must be on the block grid
+        int plane = snap(coord(first, axisN));
+
+        if (plane < 0) {
+            return false;
+        }
+
+        int minA = Integer.MAX_VALUE, minB = Integer.MAX_VALUE;
+        int maxA = Integer.MIN_VALUE, maxB = Integer.MIN_VALUE;
+
+        for (int i = 0; i < 4; i++) {
+            var vertex = vertices[i];
+
+            int a = snap(coord(vertex, axisA));
+            int b = snap(coord(vertex, axisB));
+
+            if (a < 0 || b < 0 || snap(coord(vertex, axisN)) != plane) {
+                return false;
+            }
+
+            minA = Math.min(minA, a);
+            minB = Math.min(minB, b);
+            maxA = Math.max(maxA, a);
+            maxB = Math.max(maxB, b);
+        }
+
+        if (maxA - minA != 1 || maxB - minB != 1) {
+            return false;
+        }
+
+        int layer = direction.getAxisDirection() == Direction.AxisDirection.POSITIVE ? plane - 1 : plane;
+
+        if (layer < 0 || layer >= SECTION_SIZE || maxA > SECTION_SIZE || maxB > SECTION_SIZE) {
+            return false;
+        }
+
+        int layout = getLayout(vertices, sprite, axisA, axisB, minA, minB);
+
+        if (layout < 0) {
+            return false;
+        }
+
+        int index = (layer * SLICE_SIZE) + (minB * SECTION_SIZE) + minA;
+
+        // Models with multiple faces in the same spot (i.e. overlays) are rendered as usual
+        if (this.sprites[dir][index] != null) {
+            return false;
+        }
+
+        this.sprites[dir][index] = sprite;
+        this.colors[dir][index] = first.color;
+        this.lights[dir][index] = first.light;
+        this.shades[dir][index] = Float.floatToRawIntBits(first.ao);
+        this.layouts[dir][index] = layout;
+        this.materials[dir][index] = materialBits;
+
+        this.faceCounts[dir]++;
+
+        return true;
+    }
+
+    /**
+     * Determines how the corners of the face map to the vertex order and the texture coordinates of the quad. The
+     * resulting layout packs the corner (A, B) of each vertex in the low 8 bits, and the mapping used for the U and V
+     * texture coordinates in the following 4 bits. Returns -1 if the texture isn't mapped onto the whole face.
+     */
+    private static int getLayout(ChunkVertexEncoder.Vertex[] vertices, TextureAtlasSprite sprite, int axisA, int axisB, int minA, int minB) {
+        int corners = 0;
+
+        // The set of mappings (one bit each) which are consistent with the texture coordinates seen so far
+        int candidatesU = 0b1111, candidatesV = 0b1111;
+
+        for (int i = 0; i < 4; i++) {
+            var vertex = vertices[i];
+
+            int cornerA = snap(coord(vertex, axisA)) - minA;
+            int cornerB = snap(coord(vertex, axisB)) - minB;
+
+            corners |= (cornerA | (cornerB << 1)) << (i * 2);
+
+            int u = normalize(vertex.u, sprite.getU0(), sprite.getU1());
+            int v = normalize(vertex.v, sprite.getV0(), sprite.getV1());
+
+            if (u < 0 || v < 0) {
+                return -1;
+            }
+
+            candidatesU = refineMapping(candidatesU, u, cornerA, cornerB);
+            candidatesV = refineMapping(candidatesV, v, cornerA, cornerB);
+        }
+
+        // Every corner must be used exactly once
+        if (((1 << cornerOf(corners, 0)) | (1 << cornerOf(corners, 1)) | (1 << cornerOf(corners, 2)) | (1 << cornerOf(corners, 3))) != 0b1111) {
+            return -1;
+        }
+
+        if (Integer.bitCount(candidatesU) != 1 || Integer.bitCount(candidatesV) != 1) {
+            return -1;
+        }
+
+        int mappingU = Integer.numberOfTrailingZeros(candidatesU);
+        int mappingV = Integer.numberOfTrailingZeros(candidatesV);
+
+        // The texture must be stretched over both axes of the face
+        if ((mappingU >> 1) == (mappingV >> 1)) {
+            return -1;
+        }
+
+        return corners | (mappingU << 8) | (mappingV << 10);
+    }
+
+    /**
+     * Removes all mappings from the set of candidates which aren't consistent with the given texture coordinate at
+     * the given corner of the face.
+     */
+    private static int refineMapping(int candidates, int tex, int cornerA, int cornerB) {
+        if (tex != cornerA) candidates &= ~(1 << MAPPING_A);
+        if (tex != 1 - cornerA) candidates &= ~(1 << MAPPING_A_FLIPPED);
+        if (tex != cornerB) candidates &= ~(1 << MAPPING_B);
+        if (tex != 1 - cornerB) candidates &= ~(1 << MAPPING_B_FLIPPED);
+
+        return candidates;
+    }
+
+    /**
+     * Merges all collected faces and writes the resulting quads into the solid render pass of the given buffers.
+     */
+    public void flush(ChunkBuildBuffers buffers) {
+        ChunkModelBuilder builder = buffers.get(DefaultTerrainRenderPasses.SOLID);
+
+        for (Direction direction : Direction.values()) {
+            int dir = direction.get3DDataValue();
+
+            if (this.faceCounts[dir] == 0) {
+                continue;
+            }
+
+            var vertexBuffer = builder.getVertexBuffer(ModelQuadFacing.fromDirection(direction));
+
+            for (int layer = 0; layer < SECTION_SIZE; layer++) {
+                this.mergeLayer(direction, layer, vertexBuffer);
+            }
+        }
+
+        this.reset();
+    }
+
+    private void mergeLayer(Direction direction, int layer, ChunkMeshBufferBuilder vertexBuffer) {
+        int dir = direction.get3DDataValue();
+        int offset = layer * SLICE_SIZE;
+
+        TextureAtlasSprite[] sprites = this.sprites[dir];
+        boolean[] visited = this.visited;
+
+        Arrays.fill(visited, false);
+
+        for (int b = 0; b < SECTION_SIZE; b++) {
+            for (int a = 0; a < SECTION_SIZE; a++) {
+                int start = (b * SECTION_SIZE) + a;
+
+                if (visited[start] || sprites[offset + start] == null) {
+                    continue;
+                }
+
+                // Extend the quad along the A axis as far as possible
+                int width = 1;
+
+                while (a + width < SECTION_SIZE && this.canMerge(dir, offset, start, start + width)) {
+                    width++;
+                }
+
+                // Then extend it along the B axis while every face in the next row can be merged
+                int height = 1;
+
+                grow:
+                while (b + height < SECTION_SIZE) {
+                    int row = start + (height * SECTION_SIZE);
+
+                    for (int i = 0; i < width; i++) {
+                        if (!this.canMerge(dir, offset, start, row + i)) {
+                            break grow;
+                        }
+                    }
+
+                    height++;
+                }
+
+                for (int j = 0; j < height; j++) {
+                    Arrays.fill(visited, start + (j * SECTION_SIZE), start + (j * SECTION_SIZE) + width, true);
+                }
+
+                this.writeQuad(direction, layer, a, b, width, height, offset + start, vertexBuffer);
+            }
+        }
+    }
+
+    private boolean canMerge(int dir, int offset, int origin, int target) {
+        int i = offset + origin;
+        int j = offset + target;
+
+        return !this.visited[target] &&
+                this.sprites[dir][j] == this.sprites[dir][i] &&
+                this.colors[dir][j] == this.colors[dir][i] &&
+                this.lights[dir][j] == this.lights[dir][i] &&
+                this.shades[dir][j] == this.shades[dir][i] &&
+                this.layouts[dir][j] == this.layouts[dir][i] &&
+                this.materials[dir][j] == this.materials[dir][i];
+    }
+
+    private void writeQuad(Direction direction, int layer, int a, int b, int width, int height, int index, ChunkMeshBufferBuilder vertexBuffer) {
+        int dir = direction.get3DDataValue();
+        int axisA = PLANE_AXIS_A[dir];
+        int axisB = PLANE_AXIS_B[dir];
+        int axisN = direction.getAxis().ordinal();
+
+        TextureAtlasSprite sprite = this.sprites[dir][index];
+        int layout = this.layouts[dir][index];
+        int mappingU = (layout >>> 8) & 0b11;
+        int mappingV = (layout >>> 10) & 0b11;
+
+        float ao = Float.intBitsToFloat(this.shades[dir][index]);
+        int plane = direction.getAxisDirection() == Direction.AxisDirection.POSITIVE ? layer + 1 : layer;
+
+        float[] position = this.position;
+        position[axisN] = plane;
+
+        for (int i = 0; i < 4; i++) {
+            int corner = cornerOf(layout, i);
+            int cornerA = corner & 1;
+            int cornerB = corner >>> 1;
+
+            int posA = a + (cornerA * width);
+            int posB = b + (cornerB * height);
+
+            position[axisA] = posA;
+            position[axisB] = posB;
+
+            var vertex = this.vertices[i];
+            vertex.x = position[0];
+            vertex.y = position[1];
+            vertex.z = position[2];
+            vertex.color = this.colors[dir][index];
+            vertex.ao = ao;
+            vertex.light = this.lights[dir][index];
+
+            // The texture coordinates span the sprite once, the tile coordinates determine how often it is repeated
+            vertex.u = applyMapping(mappingU, cornerA, cornerB) == 0 ? sprite.getU0() : sprite.getU1();
+            vertex.v = applyMapping(mappingV, cornerA, cornerB) == 0 ? sprite.getV0() : sprite.getV1();
+            vertex.tileU = getTileCoord(mappingU, posA, posB);
+            vertex.tileV = getTileCoord(mappingV, posA, posB);
+        }
+
+        vertexBuffer.push(this.vertices, MaterialParameters.withTiling(this.materials[dir][index]));
+    }
+
+    private static int applyMapping(int mapping, int cornerA, int cornerB) {
+        return switch (mapping) {
+            case MAPPING_A -> cornerA;
+            case MAPPING_A_FLIPPED -> 1 - cornerA;
+            case MAPPING_B -> cornerB;
+            case MAPPING_B_FLIPPED -> 1 - cornerB;
+            default -> throw new IllegalArgumentException("Invalid mapping: " + mapping);
+        };
+    }
+
+    /**
+     * Returns the tile coordinate of a vertex at the given position within the face plane. The fractional part of the
+     * interpolated tile coordinate within any block is equal to the texture coordinate of the original face.
+     */
+    private static int getTileCoord(int mapping, int posA, int posB) {
+        return switch (mapping) {
+            case MAPPING_A -> posA;
+            case MAPPING_A_FLIPPED -> SECTION_SIZE - posA;
+            case MAPPING_B -> posB;
+            case MAPPING_B_FLIPPED -> SECTION_SIZE - posB;
+            default -> throw new IllegalArgumentException("Invalid mapping: " + mapping);
+        };
+    }
+
+    public void reset() {
+        for (int dir = 0; dir < this.sprites.length; dir++) {
+            if (this.faceCounts[dir] != 0) {
+                Arrays.fill(this.sprites[dir], null);
+                this.faceCounts[dir] = 0;
+            }
+        }
+    }
+
+    private static int cornerOf(int layout, int vertex) {
+        return (layout >>> (vertex * 2)) & 0b11;
+    }
+
+    private static float coord(ChunkVertexEncoder.Vertex vertex, int axis) {
+        return switch (axis) {
+            case 0 -> vertex.x;
+            case 1 -> vertex.y;
+            case 2 -> vertex.z;
+            default -> throw new IllegalArgumentException("Invalid axis: " + axis);
+        };
+    }
+
+    /**
+     * Snaps a section-local coordinate to the block grid, or returns -1 if it isn't on the grid.
+     */
+    private static int snap(float value) {
+        int rounded = Math.round(value);
+
+        if (rounded < 0 || rounded > SECTION_SIZE || Math.abs(value - rounded) > EPSILON) {
+            return -1;
+        }
+
+        return rounded;
+    }
+
+    /**
+     * Returns 0 or 1 if the texture coordinate lies on the lower or upper bound of the sprite, and -1 otherwise.
+     */
+    private static int normalize(float value, float min, float max) {
+        float range = max - min;
+
+        if (Math.abs(value - min) <= range * EPSILON) {
+            return 0;
+        } else if (Math.abs(value - max) <= range * EPSILON) {
+            return 1;
+        }
+
+        return -1;
+    }
+}
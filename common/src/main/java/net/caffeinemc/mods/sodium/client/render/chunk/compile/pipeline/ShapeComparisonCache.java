@@ -0,0 +1,98 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.world.phys.shapes.BooleanOp;
+import net.minecraft.world.phys.shapes.Shapes;
+import net.minecraft.world.phys.shapes.VoxelShape;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache for the results of comparing two voxel shapes, which is shared by all chunk builder threads without
+ * any locking. The table uses open addressing over the identity hashes of both shapes with a short, fixed probe
+ * sequence. When every slot in the probe sequence is taken, the entry in the first slot is replaced.
+ *
+ * Entries are immutable and only published as a whole, so a thread may see a stale or missing entry (in which case
+ * the comparison is simply repeated), but never a partially constructed one. Shapes are compared by identity, and the
+ * result of comparing the same pair of shapes never changes, so entries remain correct across resource reloads. The
+ * cache is still cleared after the block state cache is rebuilt to release the old shapes.
+ */
+public class ShapeComparisonCache {
+    private static final int CAPACITY = 4096;
+    private static final int MAX_PROBES = 8;
+
+    private static final AtomicReferenceArray<Entry> ENTRIES = new AtomicReferenceArray<>(CAPACITY);
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    /**
+     * Checks whether any part of the shape {@param self} is left uncovered by the shape {@param other}.
+     */
+    public static boolean isNotCovered(VoxelShape self, VoxelShape other) {
+        int hash = hash(self, other);
+
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            Entry entry = ENTRIES.getPlain(slot(hash, probe));
+
+            if (entry == null) {
+                break;
+            }
+
+            if (entry.self == self && entry.other == other) {
+                HITS.increment();
+
+                return entry.result;
+            }
+        }
+
+        MISSES.increment();
+
+        boolean result = Shapes.joinIsNotEmpty(self, other, BooleanOp.ONLY_FIRST);
+        insert(hash, new Entry(self, other, result));
+
+        return result;
+    }
+
+    private static void insert(int hash, Entry entry) {
+        for (int probe = 0; probe < MAX_PROBES; probe++) {
+            int slot = slot(hash, probe);
+
+            if (ENTRIES.getPlain(slot) == null && ENTRIES.compareAndSet(slot, null, entry)) {
+                return;
+            }
+        }
+
+        // The probe sequence is full, so the entry in its first slot is replaced, which isn't necessarily the oldest
+        // one. Losing a race with another thread here only means that one of the two results has to be computed again
+        // later.
+        ENTRIES.setRelease(slot(hash, 0), entry);
+    }
+
+    public static void clear() {
+        for (int slot = 0; slot < CAPACITY; slot++) {
+            ENTRIES.setRelease(slot, null);
+        }
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    private static int hash(VoxelShape self, VoxelShape other) {
+        return HashCommon.mix((31 * System.identityHashCode(self)) + System.identityHashCode(other));
+    }
+
+    private static int slot(int hash, int probe) {
+        return (hash + probe) & (CAPACITY - 1);
+    }
+
+    private record Entry(VoxelShape self, VoxelShape other, boolean result) {
+
+    }
+}
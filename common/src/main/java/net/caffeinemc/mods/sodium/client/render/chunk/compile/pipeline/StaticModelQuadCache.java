@@ -0,0 +1,98 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline;
+
+import it.unimi.dsi.fastutil.objects.Reference2ReferenceLinkedOpenHashMap;
+import net.caffeinemc.mods.sodium.client.render.frapi.mesh.EncodingFormat;
+import net.fabricmc.fabric.api.renderer.v1.model.FabricBakedModel;
+import net.fabricmc.fabric.api.renderer.v1.model.ModelHelper;
+import net.minecraft.client.renderer.block.model.BakedQuad;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.client.resources.model.SimpleBakedModel;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches the decoded quads of block models whose geometry only depends on the block state, so that they don't need
+ * to be fetched from the model and converted from the vanilla vertex format each time a chunk is meshed. Each chunk
+ * builder thread owns its own cache, which is bounded by evicting the least recently used models.
+ *
+ * All caches are cleared after the block atlas is reloaded, since the models they refer to are replaced.
+ */
+public class StaticModelQuadCache {
+    private static final int MAX_ENTRIES = 2048;
+
+    private static volatile int generation;
+
+    private final Reference2ReferenceLinkedOpenHashMap<BakedModel, Entry> entries = new Reference2ReferenceLinkedOpenHashMap<>();
+    private int lastGeneration = generation;
+
+    /**
+     * Only vanilla's simple models are known to produce the same quads for every position and random seed. Any other
+     * model (including subclasses) may compute its quads in arbitrary ways.
+     */
+    public static boolean isStatic(BakedModel model) {
+        return model.getClass() == SimpleBakedModel.class && ((FabricBakedModel) model).isVanillaAdapter();
+    }
+
+    public static void invalidate() {
+        generation++;
+    }
+
+    public @Nullable Entry get(BakedModel model) {
+        if (this.lastGeneration != generation) {
+            this.lastGeneration = generation;
+            this.entries.clear();
+
+            return null;
+        }
+
+        return this.entries.getAndMoveToFirst(model);
+    }
+
+    public void put(BakedModel model, Entry entry) {
+        while (this.entries.size() >= MAX_ENTRIES) {
+            this.entries.removeLast();
+        }
+
+        this.entries.putAndMoveToFirst(model, entry);
+    }
+
+    /**
+     * The quads of a model for each cull face, stored in the encoding used by
+     * {@link net.caffeinemc.mods.sodium.client.render.frapi.mesh.MutableQuadViewImpl}.
+     */
+    public static final class Entry {
+        private final int[] data;
+        private final BakedQuad[] quads;
+        private final int[] offsets;
+
+        /**
+         * @param data The encoded quads, with a stride of {@link EncodingFormat#TOTAL_STRIDE}
+         * @param quads The original quad for each encoded quad
+         * @param offsets The index of the first quad for each cull face, followed by the total number of quads
+         */
+        public Entry(int[] data, BakedQuad[] quads, int[] offsets) {
+            if (offsets.length != ModelHelper.NULL_FACE_ID + 2) {
+                throw new IllegalArgumentException("Expected an offset for every cull face");
+            }
+
+            this.data = data;
+            this.quads = quads;
+            this.offsets = offsets;
+        }
+
+        public int[] getData() {
+            return this.data;
+        }
+
+        public BakedQuad getQuad(int index) {
+            return this.quads[index];
+        }
+
+        public int getFaceStart(int faceIndex) {
+            return this.offsets[faceIndex];
+        }
+
+        public int getFaceEnd(int faceIndex) {
+            return this.offsets[faceIndex + 1];
+        }
+    }
+}
@@ -10,6 +10,7 @@ import net.caffeinemc.mods.sodium.client.render.chunk.compile.ChunkBuildOutput;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.executor.ChunkBuilder;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.BlockRenderCache;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.BlockRenderer;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.FluidRenderer;
 import net.caffeinemc.mods.sodium.client.render.chunk.data.BuiltSectionInfo;
 import net.caffeinemc.mods.sodium.client.render.chunk.data.BuiltSectionMeshParts;
 import net.caffeinemc.mods.sodium.client.render.chunk.terrain.DefaultTerrainRenderPasses;
@@ -90,7 +91,10 @@ public class ChunkBuilderMeshingTask extends ChunkBuilderTask<ChunkBuildOutput>
             collector = null;
         }
         BlockRenderer blockRenderer = cache.getBlockRenderer();
-        blockRenderer.prepare(buffers, slice, collector);
+        blockRenderer.prepare(buffers, slice, collector, SodiumClientMod.options().performance.useGreedyMeshing);
+
+        FluidRenderer fluidRenderer = cache.getFluidRenderer();
+        fluidRenderer.prepare(SodiumClientMod.options().performance.useFluidSurfaceMerging);
 
         profiler.push("render blocks");
         try {
@@ -119,7 +123,7 @@ public class ChunkBuilderMeshingTask extends ChunkBuilderTask<ChunkBuildOutput>
                         FluidState fluidState = blockState.getFluidState();
 
                         if (!fluidState.isEmpty()) {
-                            cache.getFluidRenderer().render(slice, blockState, fluidState, blockPos, modelOffset, collector, buffers);
+                            fluidRenderer.render(slice, blockState, fluidState, blockPos, modelOffset, collector, buffers);
                         }
 
                         if (blockState.hasBlockEntity()) {
@@ -147,6 +151,11 @@ public class ChunkBuilderMeshingTask extends ChunkBuilderTask<ChunkBuildOutput>
             // Create a new crash report for other exceptions (e.g. thrown in getQuads)
             throw fillCrashInfo(CrashReport.forThrowable(ex, "Encountered exception while building chunk meshes"), slice, blockPos);
         }
+        profiler.popPush("greedy meshing");
+
+        blockRenderer.flushGreedyQuads();
+        fluidRenderer.flush(buffers, collector);
+
         profiler.popPush("mesh appenders");
 
         PlatformLevelRenderHooks.INSTANCE.runChunkMeshAppenders(renderContext.getRenderers(), type -> buffers.get(DefaultMaterials.forRenderLayer(type)).asFallbackVertexConsumer(DefaultMaterials.forRenderLayer(type), collector),
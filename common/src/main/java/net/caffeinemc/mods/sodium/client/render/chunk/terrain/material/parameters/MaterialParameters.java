@@ -3,9 +3,40 @@ package net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.paramete
 public class MaterialParameters {
     public static final int OFFSET_USE_MIP = 0;
     public static final int OFFSET_ALPHA_CUTOFF = 1;
+    public static final int OFFSET_USE_TILING = 3;
+    public static final int OFFSET_USE_PLANAR_TILING = 4;
 
     public static int pack(AlphaCutoffParameter alphaCutoff, boolean useMipmaps) {
         return (((useMipmaps ? 1 : 0) << OFFSET_USE_MIP) |
                 ((alphaCutoff.ordinal()) << OFFSET_ALPHA_CUTOFF));
     }
+
+    public static boolean isMipped(int materialBits) {
+        return ((materialBits >>> OFFSET_USE_MIP) & 1) != 0;
+    }
+
+    /**
+     * Marks the material bits of a quad as using a repeating texture. The texture coordinates of such quads encode the
+     * bounds of a single sprite, and the shader wraps the texture across the quad using its tile coordinates.
+     */
+    public static int withTiling(int materialBits) {
+        return materialBits | (1 << OFFSET_USE_TILING);
+    }
+
+    public static boolean isTiled(int materialBits) {
+        return ((materialBits >>> OFFSET_USE_TILING) & 1) != 0;
+    }
+
+    /**
+     * Marks the material bits of a horizontal quad as using a texture which is repeated once per block along the X and
+     * Z axes. Unlike other tiled quads, the tile coordinates are derived from the position of the vertex, so that the
+     * quad only needs to be aligned to the block grid on those two axes.
+     */
+    public static int withPlanarTiling(int materialBits) {
+        return withTiling(materialBits) | (1 << OFFSET_USE_PLANAR_TILING);
+    }
+
+    public static boolean isPlanarTiled(int materialBits) {
+        return ((materialBits >>> OFFSET_USE_PLANAR_TILING) & 1) != 0;
+    }
 }
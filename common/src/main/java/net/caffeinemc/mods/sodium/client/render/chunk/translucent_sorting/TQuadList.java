@@ -0,0 +1,400 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting;
+
+import java.util.Arrays;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import org.joml.Vector3f;
+import org.joml.Vector3fc;
+
+import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
+import net.caffeinemc.mods.sodium.api.util.NormI8;
+
+/**
+ * Stores the quads of a section for the purposes of translucency sorting.
+ * Called TQuadList to avoid confusion with other quad classes. The quads are
+ * stored in a struct-of-arrays layout where each property of the quads is held
+ * in a primitive array that is indexed by the quad's index. This avoids
+ * allocating several objects for each translucent quad, which adds up quickly
+ * in sections with a lot of translucent geometry such as water.
+ * <p>
+ * The extents of each quad are stored in the order POS_X, POS_Y, POS_Z, NEG_X,
+ * NEG_Y, NEG_Z. The vertex positions are computed from the extents if the
+ * quad is aligned and not degenerate.
+ */
+public class TQuadList {
+    /**
+     * The quantization factor with which the normals are quantized such that there
+     * are fewer possible unique normals. The factor describes the number of steps
+     * in each direction per dimension that the components of the normals can have.
+     * It determines the density of the grid on the surface of a unit cube centered
+     * at the origin onto which the normals are projected. The normals are snapped
+     * to the nearest grid point.
+     */
+    private static final int QUANTIZATION_FACTOR = 4;
+
+    private static final int EXTENTS_STRIDE = 6;
+    private static final int VERTEX_POSITIONS_STRIDE = 12;
+    private static final int CENTER_STRIDE = 3;
+
+    private int size;
+
+    private byte[] facings;
+    private int[] packedNormals;
+    private float[] accurateDotProducts;
+    private float[] quantizedDotProducts;
+    private float[] extents;
+    private float[] vertexPositions;
+    private float[] centers;
+
+    public TQuadList(int capacity) {
+        this.allocate(Math.max(capacity, 1));
+    }
+
+    private void allocate(int capacity) {
+        this.facings = new byte[capacity];
+        this.packedNormals = new int[capacity];
+        this.accurateDotProducts = new float[capacity];
+        this.quantizedDotProducts = new float[capacity];
+        this.extents = new float[capacity * EXTENTS_STRIDE];
+        this.vertexPositions = new float[capacity * VERTEX_POSITIONS_STRIDE];
+        this.centers = new float[capacity * CENTER_STRIDE];
+    }
+
+    private void grow() {
+        int capacity = this.facings.length * 2;
+
+        this.facings = Arrays.copyOf(this.facings, capacity);
+        this.packedNormals = Arrays.copyOf(this.packedNormals, capacity);
+        this.accurateDotProducts = Arrays.copyOf(this.accurateDotProducts, capacity);
+        this.quantizedDotProducts = Arrays.copyOf(this.quantizedDotProducts, capacity);
+        this.extents = Arrays.copyOf(this.extents, capacity * EXTENTS_STRIDE);
+        this.vertexPositions = Arrays.copyOf(this.vertexPositions, capacity * VERTEX_POSITIONS_STRIDE);
+        this.centers = Arrays.copyOf(this.centers, capacity * CENTER_STRIDE);
+    }
+
+    /**
+     * Adds a quad to the list.
+     *
+     * @param facing          the facing of the quad
+     * @param packedNormal    the packed normal of the quad, only used if the quad is unaligned
+     * @param extents         the extents of the quad, which are copied
+     * @param vertexPositions the vertex positions of the quad, or null if they can be computed from the extents
+     * @return the index of the new quad
+     */
+    int add(ModelQuadFacing facing, int packedNormal, float[] extents, float[] vertexPositions,
+            float centerX, float centerY, float centerZ) {
+        if (this.size == this.facings.length) {
+            this.grow();
+        }
+
+        int quad = this.size++;
+
+        if (facing.isAligned()) {
+            packedNormal = ModelQuadFacing.PACKED_ALIGNED_NORMALS[facing.ordinal()];
+        }
+
+        this.facings[quad] = (byte) facing.ordinal();
+        this.packedNormals[quad] = packedNormal;
+        System.arraycopy(extents, 0, this.extents, quad * EXTENTS_STRIDE, EXTENTS_STRIDE);
+
+        int vertexOffset = quad * VERTEX_POSITIONS_STRIDE;
+        if (vertexPositions != null) {
+            System.arraycopy(vertexPositions, 0, this.vertexPositions, vertexOffset, VERTEX_POSITIONS_STRIDE);
+        } else {
+            var facingAxis = facing.getAxis();
+            var xRange = facingAxis == 0 ? 0 : 3;
+            var yRange = facingAxis == 1 ? 0 : 3;
+            var zRange = facingAxis == 2 ? 0 : 3;
+
+            for (int x = 0; x <= xRange; x += 3) {
+                for (int y = 0; y <= yRange; y += 3) {
+                    for (int z = 0; z <= zRange; z += 3) {
+                        this.vertexPositions[vertexOffset++] = extents[x];
+                        this.vertexPositions[vertexOffset++] = extents[y + 1];
+                        this.vertexPositions[vertexOffset++] = extents[z + 2];
+                    }
+                }
+            }
+        }
+
+        int centerOffset = quad * CENTER_STRIDE;
+        this.centers[centerOffset] = centerX;
+        this.centers[centerOffset + 1] = centerY;
+        this.centers[centerOffset + 2] = centerZ;
+
+        float dotProduct;
+        if (facing.isAligned()) {
+            dotProduct = getAlignedDotProduct(facing, extents, 0);
+        } else {
+            dotProduct = this.centerDot(quad,
+                    NormI8.unpackX(packedNormal),
+                    NormI8.unpackY(packedNormal),
+                    NormI8.unpackZ(packedNormal));
+        }
+        this.accurateDotProducts[quad] = dotProduct;
+        this.quantizedDotProducts[quad] = dotProduct;
+
+        return quad;
+    }
+
+    /**
+     * Creates a list that contains the quads of all the given lists in order.
+     *
+     * @param lists the lists to concatenate, null entries are skipped
+     */
+    static TQuadList concat(TQuadList[] lists) {
+        int totalSize = 0;
+        for (var list : lists) {
+            if (list != null) {
+                totalSize += list.size;
+            }
+        }
+
+        var result = new TQuadList(totalSize);
+        for (var list : lists) {
+            if (list != null) {
+                result.addAll(list);
+            }
+        }
+        return result;
+    }
+
+    private void addAll(TQuadList other) {
+        int start = this.size;
+        int count = other.size;
+
+        System.arraycopy(other.facings, 0, this.facings, start, count);
+        System.arraycopy(other.packedNormals, 0, this.packedNormals, start, count);
+        System.arraycopy(other.accurateDotProducts, 0, this.accurateDotProducts, start, count);
+        System.arraycopy(other.quantizedDotProducts, 0, this.quantizedDotProducts, start, count);
+        System.arraycopy(other.extents, 0, this.extents, start * EXTENTS_STRIDE, count * EXTENTS_STRIDE);
+        System.arraycopy(other.vertexPositions, 0, this.vertexPositions, start * VERTEX_POSITIONS_STRIDE, count * VERTEX_POSITIONS_STRIDE);
+        System.arraycopy(other.centers, 0, this.centers, start * CENTER_STRIDE, count * CENTER_STRIDE);
+
+        this.size += count;
+    }
+
+    private static float getAlignedDotProduct(ModelQuadFacing facing, float[] extents, int offset) {
+        return extents[offset + facing.ordinal()] * facing.getSign();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public ModelQuadFacing getFacing(int quad) {
+        return ModelQuadFacing.VALUES[this.facings[quad]];
+    }
+
+    /**
+     * Calculates the facing of the quad based on the quantized normal. This updates the dot product to be consistent with the new facing. Since this method computes the quantized normal, it should be used sparingly and only when the quantized normal is calculated anyway. Additionally, it can modify the facing and not product of the quad which the caller should be aware of.
+     *
+     * @return the (potentially changed) facing of the quad
+     */
+    public ModelQuadFacing useQuantizedFacing(int quad) {
+        var facing = this.getFacing(quad);
+
+        if (!facing.isAligned()) {
+            // quantize the normal, get the new facing and get fix the dot product to match
+            var quantizedNormal = this.getQuantizedNormal(quad);
+            facing = ModelQuadFacing.fromNormal(quantizedNormal.x(), quantizedNormal.y(), quantizedNormal.z());
+            this.facings[quad] = (byte) facing.ordinal();
+
+            if (facing.isAligned()) {
+                this.quantizedDotProducts[quad] = getAlignedDotProduct(facing, this.extents, quad * EXTENTS_STRIDE);
+            } else {
+                this.quantizedDotProducts[quad] = this.centerDot(quad,
+                        quantizedNormal.x(), quantizedNormal.y(), quantizedNormal.z());
+            }
+        }
+
+        return facing;
+    }
+
+    /**
+     * @param quad      the index of the quad
+     * @param direction the direction of the extent, as in {@link ModelQuadFacing#ordinal()}
+     */
+    public float getExtent(int quad, int direction) {
+        return this.extents[quad * EXTENTS_STRIDE + direction];
+    }
+
+    /**
+     * Copies the extents of the quad into the given array at the given offset.
+     */
+    public void copyExtents(int quad, float[] destination, int offset) {
+        System.arraycopy(this.extents, quad * EXTENTS_STRIDE, destination, offset, EXTENTS_STRIDE);
+    }
+
+    /**
+     * @param quad      the index of the quad
+     * @param component the index of the coordinate, with x, y and z of the four vertices in order
+     */
+    public float getVertexPosition(int quad, int component) {
+        return this.vertexPositions[quad * VERTEX_POSITIONS_STRIDE + component];
+    }
+
+    public float getAccurateDotProduct(int quad) {
+        return this.accurateDotProducts[quad];
+    }
+
+    public float getQuantizedDotProduct(int quad) {
+        return this.quantizedDotProducts[quad];
+    }
+
+    public int getPackedNormal(int quad) {
+        return this.packedNormals[quad];
+    }
+
+    /**
+     * Computes the dot product of the quad's accurate normal with the given point.
+     */
+    public float accurateNormalDot(int quad, float x, float y, float z) {
+        var facing = this.getFacing(quad);
+        if (facing.isAligned()) {
+            return facing.getAlignedNormal().dot(x, y, z);
+        } else {
+            int packedNormal = this.packedNormals[quad];
+            return NormI8.unpackX(packedNormal) * x + (NormI8.unpackY(packedNormal) * y + NormI8.unpackZ(packedNormal) * z);
+        }
+    }
+
+    public float accurateNormalDot(int quad, Vector3fc point) {
+        return this.accurateNormalDot(quad, point.x(), point.y(), point.z());
+    }
+
+    private float centerDot(int quad, float x, float y, float z) {
+        int offset = quad * CENTER_STRIDE;
+        return this.centers[offset] * x + (this.centers[offset + 1] * y + this.centers[offset + 2] * z);
+    }
+
+    /**
+     * Computes the squared distance between the quad's center and the given point.
+     */
+    public float centerDistanceSquared(int quad, float x, float y, float z) {
+        int offset = quad * CENTER_STRIDE;
+        float dx = this.centers[offset] - x;
+        float dy = this.centers[offset + 1] - y;
+        float dz = this.centers[offset + 2] - z;
+        return dx * dx + (dy * dy + dz * dz);
+    }
+
+    /**
+     * Computes the quantized normal of the quad. Since this allocates a new vector,
+     * it should only be used when the normal needs to be stored.
+     */
+    public Vector3fc getQuantizedNormal(int quad) {
+        var facing = this.getFacing(quad);
+        if (facing.isAligned()) {
+            return facing.getAlignedNormal();
+        }
+
+        int packedNormal = this.packedNormals[quad];
+        float normX = NormI8.unpackX(packedNormal);
+        float normY = NormI8.unpackY(packedNormal);
+        float normZ = NormI8.unpackZ(packedNormal);
+
+        // normalize onto the surface of a cube by dividing by the length of the longest
+        // component
+        float infNormLength = Math.max(Math.abs(normX), Math.max(Math.abs(normY), Math.abs(normZ)));
+        if (infNormLength != 0 && infNormLength != 1) {
+            normX /= infNormLength;
+            normY /= infNormLength;
+            normZ /= infNormLength;
+        }
+
+        // quantize the coordinates on the surface of the cube.
+        // in each axis the number of values is 2 * QUANTIZATION_FACTOR + 1.
+        // the total number of normals is the number of points on that cube's surface.
+        var normal = new Vector3f(
+                (int) (normX * QUANTIZATION_FACTOR),
+                (int) (normY * QUANTIZATION_FACTOR),
+                (int) (normZ * QUANTIZATION_FACTOR));
+        normal.normalize();
+        return normal;
+    }
+
+    int getQuadHash(int quad) {
+        // the hash code needs to be particularly collision resistant
+        int extentsHash = 1;
+        for (int i = quad * EXTENTS_STRIDE, end = i + EXTENTS_STRIDE; i < end; i++) {
+            extentsHash = 31 * extentsHash + Float.floatToIntBits(this.extents[i]);
+        }
+
+        int result = 1;
+        result = 31 * result + extentsHash;
+        var facing = this.getFacing(quad);
+        if (facing.isAligned()) {
+            result = 31 * result + facing.hashCode();
+        } else {
+            result = 31 * result + this.packedNormals[quad];
+        }
+        result = 31 * result + Float.hashCode(this.quantizedDotProducts[quad]);
+        return result;
+    }
+
+    /**
+     * Computes a hash of the data of all quads in the list. Lists with the same
+     * content hash are likely, but not guaranteed, to be equal according to
+     * {@link #contentEquals(TQuadList)}.
+     */
+    public long getContentHash() {
+        long hash = this.size;
+        for (int quad = 0; quad < this.size; quad++) {
+            hash = hash * 31L + this.getQuadHash(quad);
+        }
+
+        // the quad hash doesn't include the vertex positions of unaligned quads
+        for (int i = 0, end = this.size * VERTEX_POSITIONS_STRIDE; i < end; i++) {
+            hash = hash * 31L + Float.floatToIntBits(this.vertexPositions[i]);
+        }
+
+        return HashCommon.mix(hash);
+    }
+
+    /**
+     * Checks if the given list contains exactly the same quads in the same order
+     * as this list.
+     */
+    public boolean contentEquals(TQuadList other) {
+        int size = this.size;
+
+        return size == other.size
+                && Arrays.equals(this.facings, 0, size, other.facings, 0, size)
+                && Arrays.equals(this.packedNormals, 0, size, other.packedNormals, 0, size)
+                && Arrays.equals(this.accurateDotProducts, 0, size, other.accurateDotProducts, 0, size)
+                && Arrays.equals(this.quantizedDotProducts, 0, size, other.quantizedDotProducts, 0, size)
+                && Arrays.equals(this.extents, 0, size * EXTENTS_STRIDE, other.extents, 0, size * EXTENTS_STRIDE)
+                && Arrays.equals(this.vertexPositions, 0, size * VERTEX_POSITIONS_STRIDE, other.vertexPositions, 0, size * VERTEX_POSITIONS_STRIDE)
+                && Arrays.equals(this.centers, 0, size * CENTER_STRIDE, other.centers, 0, size * CENTER_STRIDE);
+    }
+
+    /**
+     * Compares the extents of the quad with the extents stored in the given array
+     * at the given offset.
+     */
+    public boolean extentsEqual(int quad, float[] other, int offset) {
+        int quadOffset = quad * EXTENTS_STRIDE;
+        for (int i = 0; i < EXTENTS_STRIDE; i++) {
+            if (this.extents[quadOffset + i] != other[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean extentsIntersect(int quadA, int quadB) {
+        int offsetA = quadA * EXTENTS_STRIDE;
+        int offsetB = quadB * EXTENTS_STRIDE;
+
+        for (int axis = 0; axis < 3; axis++) {
+            var opposite = axis + 3;
+
+            if (this.extents[offsetA + axis] <= this.extents[offsetB + opposite]
+                    || this.extents[offsetB + axis] <= this.extents[offsetA + opposite]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
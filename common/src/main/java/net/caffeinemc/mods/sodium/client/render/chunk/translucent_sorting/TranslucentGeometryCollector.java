@@ -1,6 +1,5 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting;
 
-import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
 import net.caffeinemc.mods.sodium.api.util.NormI8;
 import net.caffeinemc.mods.sodium.client.SodiumClientMod;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
@@ -14,8 +13,6 @@ import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigge
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexEncoder;
 import net.minecraft.core.SectionPos;
 import net.minecraft.util.Mth;
-import org.joml.Vector3f;
-import org.joml.Vector3fc;
 
 import java.util.Arrays;
 
@@ -81,9 +78,12 @@ public class TranslucentGeometryCollector {
     private float unalignedBDistance1 = Float.NaN;
     private float unalignedBDistance2 = Float.NaN;
 
-    @SuppressWarnings("unchecked")
-    private ReferenceArrayList<TQuad>[] quadLists = new ReferenceArrayList[ModelQuadFacing.COUNT];
-    private TQuad[] quads;
+    private TQuadList[] quadLists = new TQuadList[ModelQuadFacing.COUNT];
+    private TQuadList quads;
+
+    // reused to pass the extents and vertex positions of each quad to the quad lists
+    private final float[] quadExtents = new float[6];
+    private final float[] quadVertexPositions = new float[12];
 
     private SortType sortType;
 
@@ -175,21 +175,30 @@ public class TranslucentGeometryCollector {
         }
 
         // POS_X, POS_Y, POS_Z, NEG_X, NEG_Y, NEG_Z
-        float[] extents = new float[] { posXExtent, posYExtent, posZExtent, negXExtent, negYExtent, negZExtent };
+        float[] extents = this.quadExtents;
+        extents[0] = posXExtent;
+        extents[1] = posYExtent;
+        extents[2] = posZExtent;
+        extents[3] = negXExtent;
+        extents[4] = negYExtent;
+        extents[5] = negZExtent;
 
         int direction = facing.ordinal();
         var quadList = this.quadLists[direction];
         if (quadList == null) {
-            quadList = new ReferenceArrayList<>();
+            quadList = new TQuadList(16);
             this.quadLists[direction] = quadList;
         }
 
-        Vector3fc center = null;
+        float centerX, centerY, centerZ;
         if (!facing.isAligned() || uniqueVertexes != 4) {
-            var centerX = xSum / uniqueVertexes;
-            var centerY = ySum / uniqueVertexes;
-            var centerZ = zSum / uniqueVertexes;
-            center = new Vector3f(centerX, centerY, centerZ);
+            centerX = xSum / uniqueVertexes;
+            centerY = ySum / uniqueVertexes;
+            centerZ = zSum / uniqueVertexes;
+        } else {
+            centerX = (posXExtent + negXExtent) / 2;
+            centerY = (posYExtent + negYExtent) / 2;
+            centerZ = (posZExtent + negZExtent) / 2;
         }
 
         // check if we need to store vertex positions for this quad, only necessary if it's unaligned or rotated (yet aligned)
@@ -208,7 +217,7 @@ public class TranslucentGeometryCollector {
 
         float[] vertexPositions = null;
         if (needsVertexPositions) {
-            vertexPositions = new float[12];
+            vertexPositions = this.quadVertexPositions;
             for (int i = 0, itemIndex = 0; i < 4; i++) {
                 var vertex = vertices[i];
                 vertexPositions[itemIndex++] = vertex.x;
@@ -229,11 +238,10 @@ public class TranslucentGeometryCollector {
                 this.extents[5] = Math.min(this.extents[5], negZExtent);
             }
 
-            var quad = TQuad.fromAligned(facing, extents, vertexPositions, center);
-            quadList.add(quad);
+            var quad = quadList.add(facing, packedNormal, extents, vertexPositions, centerX, centerY, centerZ);
 
             var extreme = this.alignedExtremes[direction];
-            var distance = quad.getAccurateDotProduct();
+            var distance = quadList.getAccurateDotProduct(quad);
 
             // check if this is a new dot product for this distance
             var existingExtreme = this.alignedExtremes[direction];
@@ -250,11 +258,10 @@ public class TranslucentGeometryCollector {
         } else {
             this.hasUnaligned = true;
 
-            var quad = TQuad.fromUnaligned(facing, extents, vertexPositions, center, packedNormal);
-            quadList.add(quad);
+            var quad = quadList.add(facing, packedNormal, extents, vertexPositions, centerX, centerY, centerZ);
 
             // update the two unaligned normals that are tracked
-            var distance = quad.getAccurateDotProduct();
+            var distance = quadList.getAccurateDotProduct(quad);
             if (packedNormal == this.unalignedANormal) {
                 if (Float.isNaN(this.unalignedADistance1)) {
                     this.unalignedADistance1 = distance;
@@ -344,7 +351,7 @@ public class TranslucentGeometryCollector {
      * @return the required sort type to ensure this section always looks correct
      */
     private SortType sortTypeHeuristic() {
-        if (this.quads.length <= 1) {
+        if (this.quads.size() <= 1) {
             return SortType.NONE;
         }
 
@@ -429,7 +436,7 @@ public class TranslucentGeometryCollector {
         // should be attempted
 
         var attemptLimitIndex = Mth.clamp(normalCount, 2, STATIC_TOPO_SORT_ATTEMPT_LIMITS.length - 1);
-        if (this.quads.length <= STATIC_TOPO_SORT_ATTEMPT_LIMITS[attemptLimitIndex]) {
+        if (this.quads.size() <= STATIC_TOPO_SORT_ATTEMPT_LIMITS[attemptLimitIndex]) {
             return SortType.STATIC_TOPO;
         }
 
@@ -460,24 +467,11 @@ public class TranslucentGeometryCollector {
     }
 
     public SortType finishRendering() {
-        // combine the quads into one array
-        int totalQuadCount = 0;
-        for (var quadList : this.quadLists) {
-            if (quadList != null) {
-                totalQuadCount += quadList.size();
-            }
-        }
-        this.quads = new TQuad[totalQuadCount];
-        int quadIndex = 0;
-        for (int direction = 0; direction < ModelQuadFacing.COUNT; direction++) {
-            var quadList = this.quadLists[direction];
-            if (quadList != null) {
-                for (var quad : quadList) {
-                    this.quads[quadIndex++] = quad;
-                }
-                if (direction < ModelQuadFacing.DIRECTIONS) {
-                    this.alignedFacingBitmap |= 1 << direction;
-                }
+        // combine the quads into one list
+        this.quads = TQuadList.concat(this.quadLists);
+        for (int direction = 0; direction < ModelQuadFacing.DIRECTIONS; direction++) {
+            if (this.quadLists[direction] != null) {
+                this.alignedFacingBitmap |= 1 << direction;
             }
         }
         this.quadLists = null; // they're not needed anymore
@@ -541,14 +535,13 @@ public class TranslucentGeometryCollector {
         throw new IllegalStateException("Unknown sort type: " + this.sortType);
     }
 
-    private int getQuadHash(TQuad[] quads) {
+    private int getQuadHash(TQuadList quads) {
         if (this.quadHashPresent) {
             return this.quadHash;
         }
 
-        for (int i = 0; i < quads.length; i++) {
-            var quad = quads[i];
-            this.quadHash = this.quadHash * 31 + quad.getQuadHash() + i * 3;
+        for (int i = 0; i < quads.size(); i++) {
+            this.quadHash = this.quadHash * 31 + quads.getQuadHash(i) + i * 3;
         }
         this.quadHashPresent = true;
         return this.quadHash;
@@ -572,7 +565,7 @@ public class TranslucentGeometryCollector {
             // for the NONE sort type the ranges need to be the same, the actual geometry
             // doesn't matter
             if (this.sortType == SortType.NONE && oldData instanceof AnyOrderData oldAnyData
-                    && oldAnyData.getQuadCount() == this.quads.length
+                    && oldAnyData.getQuadCount() == this.quads.size()
                     && Arrays.equals(oldAnyData.getVertexCounts(), vertexCounts)) {
                 return oldAnyData;
             }
@@ -580,7 +573,7 @@ public class TranslucentGeometryCollector {
             // for the other sort types the geometry needs to be the same (checked with
             // length and hash)
             if (oldData instanceof PresentTranslucentData oldPresentData) {
-                if (oldPresentData.getQuadCount() == this.quads.length
+                if (oldPresentData.getQuadCount() == this.quads.size()
                         && oldPresentData.getQuadHash() == getQuadHash(this.quads)) {
                     return oldPresentData;
                 }
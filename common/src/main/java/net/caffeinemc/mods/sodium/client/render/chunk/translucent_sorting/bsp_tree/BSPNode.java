@@ -3,7 +3,7 @@ package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_t
 import org.joml.Vector3fc;
 
 import it.unimi.dsi.fastutil.ints.IntArrayList;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data.TopoGraphSorting;
 import net.caffeinemc.mods.sodium.client.util.NativeBuffer;
 import net.caffeinemc.mods.sodium.api.util.NormI8;
@@ -31,47 +31,81 @@ public abstract class BSPNode {
         this.collectSortedQuads(new BSPSortState(nativeBuffer), cameraPos);
     }
 
-    public static BSPResult buildBSP(TQuad[] quads, SectionPos sectionPos, BSPNode oldRoot,
+    public static BSPResult buildBSP(TQuadList quads, SectionPos sectionPos, BSPNode oldRoot,
             boolean prepareNodeReuse) {
         // throw if there's too many quads
-        InnerPartitionBSPNode.validateQuadCount(quads.length);
+        InnerPartitionBSPNode.validateQuadCount(quads.size());
 
         // create a workspace and then the nodes figure out the recursive building.
         // throws if the BSP can't be built, null if none is necessary
         var workspace = new BSPWorkspace(quads, sectionPos, prepareNodeReuse);
 
+        // re-use the tree of a section with the same geometry if there is one,
+        // only the partition planes need to be added for this section. Node reuse
+        // modifies the reused nodes, so only trees without reuse data are shared,
+        // which node reuse never modifies even if they are passed as the old root.
+        // Sections that prepare node reuse are rebuilt often and don't use the cache.
+        var cacheable = !prepareNodeReuse && BSPTreeCache.isCacheable(quads);
+        var contentHash = cacheable ? quads.getContentHash() : 0;
+        if (cacheable) {
+            var cachedRoot = BSPTreeCache.get(quads, contentHash);
+            if (cachedRoot != null) {
+                if (cachedRoot instanceof InnerPartitionBSPNode innerRoot) {
+                    innerRoot.addPartitionPlanes(workspace);
+                }
+
+                var result = workspace.result;
+                result.setRootNode(cachedRoot);
+                return result;
+            }
+        }
+
         // initialize the indexes to all quads
-        int[] initialIndexes = new int[quads.length];
-        for (int i = 0; i < quads.length; i++) {
+        int[] initialIndexes = new int[quads.size()];
+        for (int i = 0; i < quads.size(); i++) {
             initialIndexes[i] = i;
         }
         var allIndexes = new IntArrayList(initialIndexes);
 
         var rootNode = BSPNode.build(workspace, allIndexes, -1, oldRoot);
+        // only trees built without an old tree are shared, since they can't contain
+        // reused nodes with index maps
+        if (cacheable && oldRoot == null && rootNode != null) {
+            BSPTreeCache.put(quads, contentHash, rootNode);
+        }
+
         var result = workspace.result;
         result.setRootNode(rootNode);
         return result;
     }
 
-    private static boolean doubleLeafPossible(TQuad quadA, TQuad quadB) {
+    /**
+     * Returns the number of child nodes that were built in parallel so far, which
+     * shows how often the parallel build threshold is reached.
+     */
+    public static long getForkedBuildCount() {
+        return BSPWorkspace.getForkedBuildCount();
+    }
+
+    private static boolean doubleLeafPossible(TQuadList quads, int quadA, int quadB) {
         // check for coplanar or mutually invisible quads
-        var facingA = quadA.getFacing();
-        var facingB = quadB.getFacing();
+        var facingA = quads.getFacing(quadA);
+        var facingB = quads.getFacing(quadB);
 
         // coplanar not aligned
         if (!facingA.isAligned() || !facingB.isAligned()) {
-            var packedNormalA = quadA.getPackedNormal();
-            var packedNormalB = quadB.getPackedNormal();
+            var packedNormalA = quads.getPackedNormal(quadA);
+            var packedNormalB = quads.getPackedNormal(quadB);
             // opposite normal (distance irrelevant)
             if (NormI8.isOpposite(packedNormalA, packedNormalB)
                     // same normal and same distance
-                    || packedNormalA == packedNormalB && quadA.getAccurateDotProduct() == quadB.getAccurateDotProduct()) {
+                    || packedNormalA == packedNormalB && quads.getAccurateDotProduct(quadA) == quads.getAccurateDotProduct(quadB)) {
                 return true;
             }
         }
 
         // coplanar aligned
-        else if (quadA.getExtents()[facingA.ordinal()] == quadB.getExtents()[facingB.ordinal()]) {
+        else if (quads.getExtent(quadA, facingA.ordinal()) == quads.getExtent(quadB, facingB.ordinal())) {
             return true;
         }
 
@@ -82,8 +116,8 @@ public abstract class BSPNode {
 
         // aligned otherwise mutually invisible
         else {
-            return !TopoGraphSorting.orthogonalQuadVisibleThrough(quadA, quadB)
-                    && !TopoGraphSorting.orthogonalQuadVisibleThrough(quadB, quadA);
+            return !TopoGraphSorting.orthogonalQuadVisibleThrough(quads, quadA, quadB)
+                    && !TopoGraphSorting.orthogonalQuadVisibleThrough(quads, quadB, quadA);
         }
 
         return false;
@@ -100,10 +134,8 @@ public abstract class BSPNode {
         } else if (indexes.size() == 2) {
             var quadIndexA = indexes.getInt(0);
             var quadIndexB = indexes.getInt(1);
-            var quadA = workspace.quads[quadIndexA];
-            var quadB = workspace.quads[quadIndexB];
 
-            if (doubleLeafPossible(quadA, quadB)) {
+            if (doubleLeafPossible(workspace.quads, quadIndexA, quadIndexB)) {
                 return new LeafDoubleBSPNode(quadIndexA, quadIndexB);
             }
         }
@@ -22,6 +22,8 @@ class BSPSortState {
     private int[] indexMap;
     private int fixedIndexOffset = NO_FIXED_OFFSET;
 
+    private final IndexWriter indexWriter = new IndexWriter();
+
     BSPSortState(NativeBuffer nativeBuffer) {
         this.indexBuffer = nativeBuffer.getDirectBuffer().asIntBuffer();
     }
@@ -222,14 +224,10 @@ class BSPSortState {
     }
 
     private static int decompress(int[] indexes, IntConsumer consumer) {
-        return decompressWithOffset(indexes, 0, consumer);
-    }
-
-    private static int decompressWithOffset(int[] indexes, int fixedIndexOffset, IntConsumer consumer) {
         // read compression header
         int header = indexes[0];
         int widthIndex = (header >> 27) & 0b1111;
-        int currentValue = header & 0b11111111111111111 + fixedIndexOffset;
+        int currentValue = header & 0b11111111111111111;
         int valueCount = ((header >> 17) & 0b1111111111) + 1;
         int baseDelta = indexes[1]; // second piece of the header
 
@@ -278,23 +276,19 @@ class BSPSortState {
         return indexes[0] < 0;
     }
 
-    private IntConsumer indexConsumer = (int index) -> TranslucentData.writeQuadVertexIndexes(
-            this.indexBuffer, index);
-
-    private IntConsumer indexMapConsumer = (int index) -> TranslucentData.writeQuadVertexIndexes(
-            this.indexBuffer, this.indexMap[index]);
-
+    /**
+     * Writes the given indexes to the index buffer, applying the index map or the
+     * fixed offset of a reused node if there is one. Compressed indexes are decoded
+     * by the same decoder that is used for node reuse, which writes them straight
+     * to the index buffer.
+     */
     void writeIndexes(int[] indexes) {
         boolean useIndexMap = this.indexMap != null;
         boolean useFixedIndexOffset = this.fixedIndexOffset != NO_FIXED_OFFSET;
 
         int valueCount;
         if (isCompressed(indexes)) {
-            if (useFixedIndexOffset) {
-                valueCount = decompressWithOffset(indexes, this.fixedIndexOffset, this.indexConsumer);
-            } else {
-                valueCount = decompress(indexes, useIndexMap ? this.indexMapConsumer : this.indexConsumer);
-            }
+            valueCount = decompress(indexes, this.indexWriter);
         } else {
             // uncompressed indexes
             if (useIndexMap) {
@@ -317,4 +311,25 @@ class BSPSortState {
             checkModificationCounter(valueCount);
         }
     }
+
+    /**
+     * Writes decoded indexes to the index buffer. There's only this and the
+     * remapper used for node reuse consuming decoded indexes, which keeps the
+     * call in the shared decoder bimorphic.
+     */
+    private final class IndexWriter implements IntConsumer {
+        @Override
+        public void accept(int index) {
+            var indexMap = BSPSortState.this.indexMap;
+            var fixedIndexOffset = BSPSortState.this.fixedIndexOffset;
+
+            if (indexMap != null) {
+                index = indexMap[index];
+            } else if (fixedIndexOffset != NO_FIXED_OFFSET) {
+                index += fixedIndexOffset;
+            }
+
+            TranslucentData.writeQuadVertexIndexes(BSPSortState.this.indexBuffer, index);
+        }
+    }
 }
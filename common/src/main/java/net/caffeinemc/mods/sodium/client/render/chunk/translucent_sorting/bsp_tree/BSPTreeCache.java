@@ -0,0 +1,132 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceLinkedOpenHashMap;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shares BSP trees between sections with identical translucent geometry, which
+ * is common in builds that repeat the same structure of glass or other
+ * translucent blocks. The nodes only contain quad indexes and section-relative
+ * plane distances, so a tree built for one section sorts the same geometry in
+ * any other section.
+ * <p>
+ * Trees are looked up by the content hash of the quads and only re-used if
+ * the quads are exactly the same, which is checked by holding on to the quads
+ * the tree was built from. The quads must therefore not be modified after the
+ * tree was built. Shared trees must not contain nodes prepared for node reuse,
+ * since reusing a node modifies it. Nodes without reuse data are left untouched
+ * when a shared tree is passed as the old tree of a rebuild.
+ * <p>
+ * The entries are spread over a number of segments by their hash, which each
+ * have their own lock and evict their least recently used trees independently,
+ * so that the chunk builder threads don't contend on a single lock. The total
+ * size of the entries is bounded by the sum of the segments' limits.
+ */
+public class BSPTreeCache {
+    /**
+     * Trees with fewer quads than this are built quickly enough that caching
+     * them isn't worth the memory.
+     */
+    private static final int MIN_QUAD_COUNT = 32;
+
+    private static final int SEGMENT_COUNT = 8;
+
+    private static final long MAX_BYTES = 32L * 1024L * 1024L;
+    private static final long MAX_SEGMENT_BYTES = MAX_BYTES / SEGMENT_COUNT;
+
+    // a rough estimate of the memory used by each quad, in both the quad list and the tree
+    private static final int BYTES_PER_QUAD = 128;
+
+    private static final Segment[] SEGMENTS = new Segment[SEGMENT_COUNT];
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    static {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            SEGMENTS[i] = new Segment();
+        }
+    }
+
+    static boolean isCacheable(TQuadList quads) {
+        return quads.size() >= MIN_QUAD_COUNT;
+    }
+
+    /**
+     * @return The root node of a tree built from the same quads, or null if
+     * there is none
+     */
+    static BSPNode get(TQuadList quads, long hash) {
+        var rootNode = getSegment(hash).get(quads, hash);
+
+        if (rootNode != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+        }
+
+        return rootNode;
+    }
+
+    static void put(TQuadList quads, long hash, BSPNode rootNode) {
+        getSegment(hash).put(hash, new Entry(quads, rootNode, (long) quads.size() * BYTES_PER_QUAD));
+    }
+
+    public static void clear() {
+        for (var segment : SEGMENTS) {
+            segment.clear();
+        }
+    }
+
+    private static Segment getSegment(long hash) {
+        return SEGMENTS[(int) HashCommon.mix(hash) & (SEGMENT_COUNT - 1)];
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    private static class Segment {
+        private final Long2ReferenceLinkedOpenHashMap<Entry> entries = new Long2ReferenceLinkedOpenHashMap<>();
+        private long usedBytes;
+
+        private synchronized BSPNode get(TQuadList quads, long hash) {
+            var entry = this.entries.getAndMoveToLast(hash);
+
+            if (entry != null && entry.quads.contentEquals(quads)) {
+                return entry.rootNode;
+            }
+
+            return null;
+        }
+
+        private synchronized void put(long hash, Entry entry) {
+            var previous = this.entries.putAndMoveToLast(hash, entry);
+
+            if (previous != null) {
+                this.usedBytes -= previous.bytes;
+            }
+
+            this.usedBytes += entry.bytes;
+
+            while (this.usedBytes > MAX_SEGMENT_BYTES && !this.entries.isEmpty()) {
+                this.usedBytes -= this.entries.removeFirst().bytes;
+            }
+        }
+
+        private synchronized void clear() {
+            this.entries.clear();
+            this.usedBytes = 0;
+        }
+    }
+
+    private record Entry(TQuadList quads, BSPNode rootNode, long bytes) {
+    }
+}
@@ -1,40 +1,204 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree;
 
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigger.GeometryPlanes;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * The BSP workspace holds the state during the BSP building process. (see also
  * BSPSortState) It brings a number of fixed parameters and receives partition
  * planes to return as part of the final result.
- * 
+ *
  * Implementation note: Storing the multi partition node's interval points in a
  * global array instead of making a new one at each tree level doesn't appear to
  * have any performance benefit.
+ * <p>
+ * Large child nodes can be built in parallel on a small dedicated fork-join
+ * pool. The pool is bounded to a fraction of the available processors since the
+ * chunk builder threads already occupy most of them, and it keeps the forks off
+ * the common pool, which is shared with unrelated work. Each
+ * forked child gets its own workspace which records its partition planes
+ * instead of adding them to the result. When the child is joined, the recorded
+ * planes are added to the parent workspace at the point where the child would
+ * have been built sequentially. This keeps the order in which planes are added
+ * (and with it the resulting trigger data) the same as in a sequential build.
  */
 class BSPWorkspace {
+    /**
+     * The minimum number of quads a child node needs to have to be built on a
+     * separate thread. Smaller children are built faster than the overhead of
+     * forking them.
+     */
+    private static final int PARALLEL_BUILD_THRESHOLD = 1024;
+
+    private static final int PROCESSOR_COUNT = Runtime.getRuntime().availableProcessors();
+
+    private static final boolean PARALLEL_BUILD_ENABLED = PROCESSOR_COUNT > 2;
+
+    private static final int PARALLEL_BUILD_THREADS = Mth.clamp(PROCESSOR_COUNT / 4, 1, 4);
+
+    private static final ForkJoinPool PARALLEL_BUILD_POOL = PARALLEL_BUILD_ENABLED ? createParallelBuildPool() : null;
+
+    private static final LongAdder FORKED_BUILDS = new LongAdder();
+
     /**
      * All the quads in the section.
      */
-    final TQuad[] quads;
+    final TQuadList quads;
 
     final SectionPos sectionPos;
 
-    final BSPResult result = new BSPResult();
+    final BSPResult result; // null in forked workspaces
 
     final boolean prepareNodeReuse;
 
-    BSPWorkspace(TQuad[] quads, SectionPos sectionPos, boolean prepareNodeReuse) {
+    // the partition planes added in a forked workspace, encoded as the axis and the distance's bits
+    private final LongArrayList planeLog; // null in the root workspace
+
+    private static ForkJoinPool createParallelBuildPool() {
+        var threadId = new AtomicInteger();
+
+        return new ForkJoinPool(PARALLEL_BUILD_THREADS, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("BSP Build Worker #" + threadId.getAndIncrement());
+            thread.setPriority(Math.max(0, Thread.NORM_PRIORITY - 2));
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    static long getForkedBuildCount() {
+        return FORKED_BUILDS.sum();
+    }
+
+    BSPWorkspace(TQuadList quads, SectionPos sectionPos, boolean prepareNodeReuse) {
+        this(quads, sectionPos, prepareNodeReuse, new BSPResult(), null);
+    }
+
+    private BSPWorkspace(TQuadList quads, SectionPos sectionPos, boolean prepareNodeReuse,
+            BSPResult result, LongArrayList planeLog) {
         this.quads = quads;
         this.sectionPos = sectionPos;
         this.prepareNodeReuse = prepareNodeReuse;
+        this.result = result;
+        this.planeLog = planeLog;
     }
 
     // TODO: better bidirectional triggering: integrate bidirectionality in GFNI if
     // top-level topo sorting isn't used anymore (and only use half as much memory
     // by not storing it double)
     void addAlignedPartitionPlane(int axis, float distance) {
-        result.addDoubleSidedPlane(this.sectionPos, axis, distance);
+        if (this.planeLog != null) {
+            this.planeLog.add(((long) axis << 32) | Integer.toUnsignedLong(Float.floatToRawIntBits(distance)));
+        } else {
+            this.result.addDoubleSidedPlane(this.sectionPos, axis, distance);
+        }
+    }
+
+    /**
+     * Starts building the child nodes that are large enough to be built in
+     * parallel. The returned array holds the forked build of each such child, or
+     * null if the child should be built sequentially with
+     * {@link #buildChild(ForkedBuild[], int, IntArrayList, int, BSPNode)}.
+     *
+     * @return The forked builds, or null if no child was forked
+     */
+    ForkedBuild[] forkChildren(IntArrayList[] childIndexes, BSPNode[] oldChildren, int depth) {
+        if (!PARALLEL_BUILD_ENABLED || childIndexes.length < 2) {
+            return null;
+        }
+
+        ForkedBuild[] forked = null;
+
+        for (int i = 0; i < childIndexes.length; i++) {
+            var indexes = childIndexes[i];
+
+            if (indexes != null && indexes.size() >= PARALLEL_BUILD_THRESHOLD) {
+                if (forked == null) {
+                    forked = new ForkedBuild[childIndexes.length];
+                }
+
+                var workspace = new BSPWorkspace(this.quads, this.sectionPos, this.prepareNodeReuse,
+                        null, new LongArrayList());
+                var build = new ForkedBuild(workspace, indexes, depth, oldChildren[i]);
+                forked[i] = build;
+
+                // forking from a thread outside the pool would submit the task to the common pool
+                if (ForkJoinTask.getPool() == PARALLEL_BUILD_POOL) {
+                    build.fork();
+                } else {
+                    PARALLEL_BUILD_POOL.execute(build);
+                }
+
+                FORKED_BUILDS.increment();
+            }
+        }
+
+        return forked;
+    }
+
+    /**
+     * Returns the child node with the given index, either by joining its forked
+     * build and adding its partition planes to this workspace, or by building it
+     * in place.
+     */
+    BSPNode buildChild(ForkedBuild[] forked, int childIndex, IntArrayList indexes, int depth, BSPNode oldChild) {
+        if (forked == null || forked[childIndex] == null) {
+            return BSPNode.build(this, indexes, depth, oldChild);
+        }
+
+        var build = forked[childIndex];
+        forked[childIndex] = null;
+
+        var node = build.join();
+
+        var planeLog = build.workspace.planeLog;
+        for (int i = 0; i < planeLog.size(); i++) {
+            long plane = planeLog.getLong(i);
+            this.addAlignedPartitionPlane((int) (plane >>> 32), Float.intBitsToFloat((int) plane));
+        }
+
+        return node;
+    }
+
+    /**
+     * Cancels all forked builds that haven't been joined yet. This must be called
+     * if building the node fails before all children were joined.
+     */
+    static void cancelChildren(ForkedBuild[] forked) {
+        if (forked != null) {
+            for (var build : forked) {
+                if (build != null) {
+                    build.cancel(false);
+                }
+            }
+        }
+    }
+
+    static class ForkedBuild extends RecursiveTask<BSPNode> {
+        private final BSPWorkspace workspace;
+        private final IntArrayList indexes;
+        private final int depth;
+        private final BSPNode oldNode;
+
+        private ForkedBuild(BSPWorkspace workspace, IntArrayList indexes, int depth, BSPNode oldNode) {
+            this.workspace = workspace;
+            this.indexes = indexes;
+            this.depth = depth;
+            this.oldNode = oldNode;
+        }
+
+        @Override
+        protected BSPNode compute() {
+            return BSPNode.build(this.workspace, this.indexes, this.depth, this.oldNode);
+        }
     }
 }
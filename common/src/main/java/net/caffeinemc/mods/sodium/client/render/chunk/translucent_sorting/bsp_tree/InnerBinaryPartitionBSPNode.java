@@ -84,13 +84,22 @@ class InnerBinaryPartitionBSPNode extends InnerPartitionBSPNode {
             oldOutsideNode = binaryNode.outside;
         }
 
+        var forked = workspace.forkChildren(
+                new IntArrayList[] { inside.quadsBefore(), outside != null ? outside.quadsBefore() : null },
+                new BSPNode[] { oldInsideNode, oldOutsideNode }, depth);
+
         BSPNode insideNode = null;
         BSPNode outsideNode = null;
-        if (inside.quadsBefore() != null) {
-            insideNode = BSPNode.build(workspace, inside.quadsBefore(), depth, oldInsideNode);
-        }
-        if (outside != null) {
-            outsideNode = BSPNode.build(workspace, outside.quadsBefore(), depth, oldOutsideNode);
+        try {
+            if (inside.quadsBefore() != null) {
+                insideNode = workspace.buildChild(forked, 0, inside.quadsBefore(), depth, oldInsideNode);
+            }
+            if (outside != null) {
+                outsideNode = workspace.buildChild(forked, 1, outside.quadsBefore(), depth, oldOutsideNode);
+            }
+        } catch (RuntimeException e) {
+            BSPWorkspace.cancelChildren(forked);
+            throw e;
         }
         var onPlane = inside.quadsOn() == null ? null : BSPSortState.compressIndexes(inside.quadsOn());
 
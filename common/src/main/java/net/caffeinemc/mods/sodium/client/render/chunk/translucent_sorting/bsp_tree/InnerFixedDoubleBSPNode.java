@@ -34,8 +34,18 @@ public class InnerFixedDoubleBSPNode extends InnerPartitionBSPNode {
             secondOldNode = old.second;
         }
 
-        var firstNode = BSPNode.build(workspace, first, depth, firstOldNode);
-        var secondNode = BSPNode.build(workspace, second, depth, secondOldNode);
+        var forked = workspace.forkChildren(new IntArrayList[] { first, second },
+                new BSPNode[] { firstOldNode, secondOldNode }, depth);
+
+        BSPNode firstNode;
+        BSPNode secondNode;
+        try {
+            firstNode = workspace.buildChild(forked, 0, first, depth, firstOldNode);
+            secondNode = workspace.buildChild(forked, 1, second, depth, secondOldNode);
+        } catch (RuntimeException e) {
+            BSPWorkspace.cancelChildren(forked);
+            throw e;
+        }
 
         return new InnerFixedDoubleBSPNode(
                 prepareNodeReuse(workspace, indexes, depth),
@@ -111,15 +111,17 @@ class InnerMultiPartitionBSPNode extends InnerPartitionBSPNode {
             oldPartitionDistance = multiNode.planeDistances[0];
         }
 
-        // write the partition planes and nodes
-        for (int i = 0, count = partitions.size(); i < count; i++) {
+        // find the partition planes and the old nodes matching each partition
+        int count = partitions.size();
+        IntArrayList[] childIndexes = new IntArrayList[count];
+        BSPNode[] oldChildren = new BSPNode[count];
+        for (int i = 0; i < count; i++) {
             var partition = partitions.get(i);
 
             // if the partition actually has a plane
             float partitionDistance = Float.NaN;
             if (endsWithPlane || i < count - 1) {
                 partitionDistance = partition.distance();
-                workspace.addAlignedPartitionPlane(axis, partitionDistance);
 
                 // NOTE: sanity check
                 if (Float.isNaN(partitionDistance)) {
@@ -130,7 +132,7 @@ class InnerMultiPartitionBSPNode extends InnerPartitionBSPNode {
             }
 
             if (partition.quadsBefore() != null) {
-                BSPNode oldChild = null;
+                childIndexes[i] = partition.quadsBefore();
 
                 if (oldPartitionNodes != null) {
                     // if there's a node that matches the partition's distance, use it as the old
@@ -143,15 +145,32 @@ class InnerMultiPartitionBSPNode extends InnerPartitionBSPNode {
                     }
                     if (oldChildIndex < oldPartitionNodes.length
                             && (oldPartitionDistance == partitionDistance || Float.isNaN(partitionDistance) && Float.isNaN(oldPartitionDistance))) {
-                        oldChild = oldPartitionNodes[oldChildIndex];
+                        oldChildren[i] = oldPartitionNodes[oldChildIndex];
                     }
                 }
-
-                partitionNodes[i] = BSPNode.build(workspace, partition.quadsBefore(), depth, oldChild);
             }
-            if (partition.quadsOn() != null) {
-                onPlaneQuads[i] = BSPSortState.compressIndexes(partition.quadsOn());
+        }
+
+        // write the partition planes and nodes
+        var forked = workspace.forkChildren(childIndexes, oldChildren, depth);
+        try {
+            for (int i = 0; i < count; i++) {
+                var partition = partitions.get(i);
+
+                if (endsWithPlane || i < count - 1) {
+                    workspace.addAlignedPartitionPlane(axis, planeDistances[i]);
+                }
+
+                if (childIndexes[i] != null) {
+                    partitionNodes[i] = workspace.buildChild(forked, i, childIndexes[i], depth, oldChildren[i]);
+                }
+                if (partition.quadsOn() != null) {
+                    onPlaneQuads[i] = BSPSortState.compressIndexes(partition.quadsOn());
+                }
             }
+        } catch (RuntimeException e) {
+            BSPWorkspace.cancelChildren(forked);
+            throw e;
         }
 
         return new InnerMultiPartitionBSPNode(prepareNodeReuse(workspace, indexes, depth),
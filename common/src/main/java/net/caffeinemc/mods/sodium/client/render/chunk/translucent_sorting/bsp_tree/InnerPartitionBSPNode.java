@@ -7,7 +7,6 @@ import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.objects.ReferenceArrayList;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TranslucentGeometryCollector;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data.TopoGraphSorting;
 import net.caffeinemc.mods.sodium.client.util.MathUtil;
@@ -69,9 +68,10 @@ abstract class InnerPartitionBSPNode extends BSPNode {
      * geometry and not the normal or facing.
      * <p>
      * Since the indexes might be compressed, the count needs to be stored
-     * separately from before compression.
+     * separately from before compression. The extents of the quads are stored
+     * consecutively, six values per quad.
      */
-    record NodeReuseData(float[][] quadExtents, int[] indexes, int indexCount, int maxIndex) {
+    record NodeReuseData(float[] quadExtents, int[] indexes, int indexCount, int maxIndex) {
     }
 
     InnerPartitionBSPNode(NodeReuseData reuseData, int axis) {
@@ -87,13 +87,11 @@ abstract class InnerPartitionBSPNode extends BSPNode {
         // root node and not anything deeper than its children)
         if (workspace.prepareNodeReuse && depth == 1 && indexes.size() > NODE_REUSE_THRESHOLD) {
             // collect the extents of the indexed quads and hash them
-            var quadExtents = new float[indexes.size()][];
+            var quadExtents = new float[indexes.size() * 6];
             int maxIndex = -1;
             for (int i = 0; i < indexes.size(); i++) {
                 var index = indexes.getInt(i);
-                var quad = workspace.quads[index];
-                var extents = quad.getExtents();
-                quadExtents[i] = extents;
+                workspace.quads.copyExtents(index, quadExtents, i * 6);
                 maxIndex = Math.max(maxIndex, index);
             }
 
@@ -144,21 +142,23 @@ abstract class InnerPartitionBSPNode extends BSPNode {
             return null;
         }
 
-        oldNode.indexMap = null;
-        oldNode.fixedIndexOffset = BSPSortState.NO_FIXED_OFFSET;
-
+        // nodes without reuse data may be part of a tree shared by the BSP tree cache,
+        // which must not be modified
         var reuseData = oldNode.reuseData;
         if (reuseData == null) {
             return null;
         }
 
+        oldNode.indexMap = null;
+        oldNode.fixedIndexOffset = BSPSortState.NO_FIXED_OFFSET;
+
         var oldExtents = reuseData.quadExtents;
-        if (oldExtents.length != newIndexes.size()) {
+        if (oldExtents.length != newIndexes.size() * 6) {
             return null;
         }
 
         for (int i = 0; i < newIndexes.size(); i++) {
-            if (!workspace.quads[newIndexes.getInt(i)].extentsEqual(oldExtents[i])) {
+            if (!workspace.quads.extentsEqual(newIndexes.getInt(i), oldExtents, i * 6)) {
                 return null;
             }
         }
@@ -246,10 +246,8 @@ abstract class InnerPartitionBSPNode extends BSPNode {
             // collect all the geometry's start and end points in this direction
             points.clear();
             for (int quadIndex : indexes) {
-                var quad = workspace.quads[quadIndex];
-                var extents = quad.getExtents();
-                var posExtent = extents[axis];
-                var negExtent = extents[oppositeDirection];
+                var posExtent = workspace.quads.getExtent(quadIndex, axis);
+                var negExtent = workspace.quads.getExtent(quadIndex, oppositeDirection);
                 if (posExtent == negExtent) {
                     points.add(encodeIntervalPoint(posExtent, quadIndex, INTERVAL_SIDE));
                 } else {
@@ -258,7 +256,7 @@ abstract class InnerPartitionBSPNode extends BSPNode {
                     onlyIntervalSide = false;
                 }
 
-                alignedFacingBitmap |= 1 << quad.getFacing().ordinal();
+                alignedFacingBitmap |= 1 << workspace.quads.getFacing(quadIndex).ordinal();
             }
 
             // simplified SNR heuristic as seen in TranslucentGeometryCollector#sortTypeHeuristic (case D)
@@ -435,11 +433,8 @@ abstract class InnerPartitionBSPNode extends BSPNode {
                 break;
             }
 
-            var quadA = workspace.quads[indexes.getInt(i)];
-            var quadB = workspace.quads[indexes.getInt(j)];
-
             // aligned quads intersect if their bounding boxes intersect
-            if (TQuad.extentsIntersect(quadA, quadB)) {
+            if (workspace.quads.extentsIntersect(indexes.getInt(i), indexes.getInt(j))) {
                 if (intersectionCounts == null) {
                     intersectionCounts = new Int2IntOpenHashMap();
                 }
@@ -510,16 +505,10 @@ abstract class InnerPartitionBSPNode extends BSPNode {
             return null;
         }
 
-        var quads = new TQuad[quadCount];
-        var activeToRealIndex = new int[quadCount];
-        for (int i = 0; i < indexes.size(); i++) {
-            var quadIndex = indexes.getInt(i);
-            quads[i] = workspace.quads[quadIndex];
-            activeToRealIndex[i] = quadIndex;
-        }
+        var activeToRealIndex = indexes.toIntArray();
 
         var indexWriter = new QuadIndexConsumerIntoArray(quadCount);
-        if (!TopoGraphSorting.topoGraphSort(indexWriter, quads, quads.length, activeToRealIndex, null, null)) {
+        if (!TopoGraphSorting.topoGraphSort(indexWriter, workspace.quads, quadCount, activeToRealIndex, null, null)) {
             return null;
         }
 
@@ -536,24 +525,25 @@ abstract class InnerPartitionBSPNode extends BSPNode {
 
         // adapted from SNR sorting code
         if (RadixSort.useRadixSort(indexes.size())) {
-            final var keys = new int[indexes.size()];
+            final var keys = RadixSort.getFloatKeyBuffer(indexes.size());
 
             for (int i = 0; i < indexes.size(); i++) {
                 var quadIndex = indexes.getInt(i);
-                keys[i] = MathUtil.floatToComparableInt(workspace.quads[quadIndex].getAccurateDotProduct());
+                keys[i] = workspace.quads.getAccurateDotProduct(quadIndex);
             }
 
-            quadIndexes = RadixSort.sort(keys);
+            var sortedIndexes = RadixSort.sort(keys, indexes.size(), false);
+            quadIndexes = new int[indexes.size()];
 
             for (int i = 0; i < indexes.size(); i++) {
-                quadIndexes[i] = indexes.getInt(quadIndexes[i]);
+                quadIndexes[i] = indexes.getInt(sortedIndexes[i]);
             }
         } else {
             final var sortData = points.elements();
 
             for (int i = 0; i < indexes.size(); i++) {
                 var quadIndex = indexes.getInt(i);
-                int dotProductComponent = MathUtil.floatToComparableInt(workspace.quads[quadIndex].getAccurateDotProduct());
+                int dotProductComponent = MathUtil.floatToComparableInt(workspace.quads.getAccurateDotProduct(quadIndex));
                 sortData[i] = (long) dotProductComponent << 32 | quadIndex;
             }
 
@@ -582,7 +572,7 @@ abstract class InnerPartitionBSPNode extends BSPNode {
             // based one each quad's facing, order them forwards or backwards,
             // this means forwards is written from the start and backwards is written from the end
             var quadIndex = decodeQuadIndex(points.getLong(i));
-            if (workspace.quads[quadIndex].getFacing().getSign() == 1) {
+            if (workspace.quads.getFacing(quadIndex).getSign() == 1) {
                 quadIndexes[forwards++] = quadIndex;
             } else {
                 quadIndexes[backwards--] = quadIndex;
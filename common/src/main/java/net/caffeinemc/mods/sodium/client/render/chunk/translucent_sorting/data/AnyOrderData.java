@@ -1,7 +1,7 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data;
 
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.SortType;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.minecraft.core.SectionPos;
 
 /**
@@ -44,9 +44,9 @@ public class AnyOrderData extends SplitDirectionData {
      * Important: The vertex indexes must start at zero for each facing.
      */
     public static AnyOrderData fromMesh(int[] vertexCounts,
-                                        TQuad[] quads, SectionPos sectionPos) {
-        var anyOrderData = new AnyOrderData(sectionPos, vertexCounts, quads.length);
-        var sorter = new StaticSorter(quads.length);
+                                        TQuadList quads, SectionPos sectionPos) {
+        var anyOrderData = new AnyOrderData(sectionPos, vertexCounts, quads.size());
+        var sorter = new StaticSorter(quads.size());
         anyOrderData.sorterOnce = sorter;
         var indexBuffer = sorter.getIntBuffer();
 
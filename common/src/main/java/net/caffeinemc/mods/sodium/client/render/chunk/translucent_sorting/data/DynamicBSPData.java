@@ -1,7 +1,7 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data;
 
 import net.caffeinemc.mods.sodium.client.render.chunk.data.BuiltSectionMeshParts;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree.BSPNode;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.bsp_tree.BSPResult;
 import net.minecraft.core.SectionPos;
@@ -19,8 +19,8 @@ public class DynamicBSPData extends DynamicData {
     private final BSPNode rootNode;
     private final int generation;
 
-    private DynamicBSPData(SectionPos sectionPos, int vertexCount, BSPResult result, Vector3dc initialCameraPos, TQuad[] quads, int generation) {
-        super(sectionPos, vertexCount, quads.length, result, initialCameraPos);
+    private DynamicBSPData(SectionPos sectionPos, int vertexCount, BSPResult result, Vector3dc initialCameraPos, TQuadList quads, int generation) {
+        super(sectionPos, vertexCount, quads.size(), result, initialCameraPos);
         this.rootNode = result.getRootNode();
         this.generation = generation;
     }
@@ -42,7 +42,7 @@ public class DynamicBSPData extends DynamicData {
     }
 
     public static DynamicBSPData fromMesh(int vertexCount,
-                                          CombinedCameraPos cameraPos, TQuad[] quads, SectionPos sectionPos,
+                                          CombinedCameraPos cameraPos, TQuadList quads, SectionPos sectionPos,
                                           TranslucentData oldData) {
         BSPNode oldRoot = null;
         int generation = 0;
@@ -1,7 +1,7 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data;
 
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigger.GeometryPlanes;
 import net.caffeinemc.mods.sodium.client.util.sorting.RadixSort;
 import net.minecraft.core.SectionPos;
@@ -10,6 +10,7 @@ import org.joml.Vector3fc;
 
 import java.nio.IntBuffer;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.IntConsumer;
 
 /**
@@ -21,11 +22,12 @@ import java.util.function.IntConsumer;
  * Triggering is performed when the quads' planes crossed along their normal
  * direction (unidirectional).
  * <p>
- * Implementation note:
- * - Reusing the output of previous distance sorting job doesn't make a
- * difference or makes things slower in some cases. It's unclear why exactly
- * this happens, I suspect weird memory behavior or the reuse is not actually
- * that helpful to the sorting algorithm.
+ * Distance sorting keeps the quad order of the previous sort and repairs it
+ * with an insertion sort, since the camera usually only moves a little between
+ * two sorts and the order changes very little. If the order has changed too
+ * much, the repair is abandoned and the quads are sorted from scratch instead.
+ * Only sorting the previous order with a non-adaptive sort doesn't make a
+ * difference or makes things slower.
  */
 public class DynamicTopoData extends DynamicData {
     private static final int MAX_TOPO_SORT_QUADS = 1000;
@@ -35,6 +37,10 @@ public class DynamicTopoData extends DynamicData {
     private static final int PATIENT_TOPO_ATTEMPTS = 5;
     private static final int REGULAR_TOPO_ATTEMPTS = 2;
 
+    // the number of element moves per quad after which repairing the previous
+    // distance sort order is assumed to be slower than sorting from scratch
+    private static final int MAX_ORDER_REPAIR_MOVES_PER_QUAD = 8;
+
     private boolean GFNITrigger = true;
     private boolean directTrigger = false;
     private int consecutiveTopoSortFailures = 0;
@@ -42,13 +48,17 @@ public class DynamicTopoData extends DynamicData {
     private double directTriggerKey = -1;
     private boolean pendingTriggerIsDirect;
 
-    private final TQuad[] quads;
+    private final TQuadList quads;
     private final Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal;
 
-    private DynamicTopoData(SectionPos sectionPos, int vertexCount, TQuad[] quads,
+    // the quad order of the last distance sort, taken by a sorter while it's
+    // being updated so that concurrent sorts don't modify the same array
+    private final AtomicReference<int[]> distanceSortOrder = new AtomicReference<>();
+
+    private DynamicTopoData(SectionPos sectionPos, int vertexCount, TQuadList quads,
                             GeometryPlanes geometryPlanes, Vector3dc initialCameraPos,
                             Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal) {
-        super(sectionPos, vertexCount, quads.length, geometryPlanes, initialCameraPos);
+        super(sectionPos, vertexCount, quads.size(), geometryPlanes, initialCameraPos);
         this.quads = quads;
         this.distancesByNormal = distancesByNormal;
 
@@ -206,7 +216,7 @@ public class DynamicTopoData extends DynamicData {
 
             if (this.directTrigger) {
                 indexBuffer.rewind();
-                distanceSortDirect(indexBuffer, DynamicTopoData.this.quads, cameraPos.getRelativeCameraPos());
+                DynamicTopoData.this.distanceSort(indexBuffer, cameraPos.getRelativeCameraPos());
             }
 
             if (initial) {
@@ -216,41 +226,93 @@ public class DynamicTopoData extends DynamicData {
     }
 
     /**
-     * Sorts the given quads by descending center distance to the camera and writes
-     * the resulting order to the given index buffer.
+     * Sorts the quads by descending center distance to the camera and writes the
+     * resulting order to the given index buffer. The order of the previous
+     * distance sort is repaired if possible.
      */
-    static void distanceSortDirect(IntBuffer indexBuffer, TQuad[] quads, Vector3fc cameraPos) {
-        if (quads.length <= 1) {
+    private void distanceSort(IntBuffer indexBuffer, Vector3fc cameraPos) {
+        int quadCount = this.quads.size();
+
+        if (quadCount <= 1) {
             TranslucentData.writeQuadVertexIndexes(indexBuffer, 0);
-        } else if (RadixSort.useRadixSort(quads.length)) {
-            final var keys = new int[quads.length];
+            return;
+        }
 
-            for (int q = 0; q < quads.length; q++) {
-                keys[q] = ~Float.floatToRawIntBits(quads[q].getCenter().distanceSquared(cameraPos));
-            }
+        final var keys = RadixSort.getFloatKeyBuffer(quadCount);
+        float cameraX = cameraPos.x();
+        float cameraY = cameraPos.y();
+        float cameraZ = cameraPos.z();
 
-            var indices = RadixSort.sort(keys);
+        for (int q = 0; q < quadCount; q++) {
+            keys[q] = this.quads.centerDistanceSquared(q, cameraX, cameraY, cameraZ);
+        }
 
-            for (int i = 0; i < quads.length; i++) {
-                TranslucentData.writeQuadVertexIndexes(indexBuffer, indices[i]);
-            }
+        var order = this.distanceSortOrder.getAndSet(null);
+
+        if (order == null) {
+            order = new int[quadCount];
+            sortByDescendingKey(order, keys, quadCount);
+        } else if (!repairOrder(order, keys, quadCount)) {
+            sortByDescendingKey(order, keys, quadCount);
+        }
+
+        for (int i = 0; i < quadCount; i++) {
+            TranslucentData.writeQuadVertexIndexes(indexBuffer, order[i]);
+        }
+
+        this.distanceSortOrder.set(order);
+    }
+
+    private static void sortByDescendingKey(int[] order, float[] keys, int quadCount) {
+        if (RadixSort.useRadixSort(quadCount)) {
+            System.arraycopy(RadixSort.sort(keys, quadCount, true), 0, order, 0, quadCount);
         } else {
-            final var data = new long[quads.length];
-            for (int q = 0; q < quads.length; q++) {
-                float distance = quads[q].getCenter().distanceSquared(cameraPos);
-                data[q] = (long) ~Float.floatToRawIntBits(distance) << 32 | q;
+            final var data = new long[quadCount];
+            for (int q = 0; q < quadCount; q++) {
+                data[q] = (long) ~Float.floatToRawIntBits(keys[q]) << 32 | q;
             }
 
             Arrays.sort(data);
 
-            for (int i = 0; i < quads.length; i++) {
-                TranslucentData.writeQuadVertexIndexes(indexBuffer, (int) data[i]);
+            for (int i = 0; i < quadCount; i++) {
+                order[i] = (int) data[i];
             }
         }
     }
 
+    /**
+     * Sorts the given order by descending key with an insertion sort, which is
+     * fast if the order is already almost sorted.
+     *
+     * @return false if the order changed too much and the repair was abandoned,
+     * in which case the order is left in an unspecified permutation
+     */
+    private static boolean repairOrder(int[] order, float[] keys, int quadCount) {
+        int remainingMoves = quadCount * MAX_ORDER_REPAIR_MOVES_PER_QUAD;
+
+        for (int i = 1; i < quadCount; i++) {
+            int quad = order[i];
+            float key = keys[quad];
+            int j = i;
+
+            while (j > 0 && keys[order[j - 1]] < key) {
+                order[j] = order[j - 1];
+                j--;
+            }
+
+            order[j] = quad;
+            remainingMoves -= i - j;
+
+            if (remainingMoves < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     public static DynamicTopoData fromMesh(int vertexCount,
-                                           CombinedCameraPos cameraPos, TQuad[] quads, SectionPos sectionPos,
+                                           CombinedCameraPos cameraPos, TQuadList quads, SectionPos sectionPos,
                                            GeometryPlanes geometryPlanes) {
         var distancesByNormal = geometryPlanes.prepareAndGetDistances();
 
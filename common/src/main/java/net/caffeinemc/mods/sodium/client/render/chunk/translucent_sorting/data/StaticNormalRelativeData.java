@@ -1,7 +1,7 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data;
 
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.SortType;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.caffeinemc.mods.sodium.client.util.MathUtil;
 import net.caffeinemc.mods.sodium.client.util.sorting.RadixSort;
 import net.minecraft.core.SectionPos;
@@ -37,37 +37,37 @@ public class StaticNormalRelativeData extends SplitDirectionData {
         return sorter;
     }
 
-    private static StaticNormalRelativeData fromDoubleUnaligned(int[] vertexCounts, TQuad[] quads, SectionPos sectionPos) {
-        var snrData = new StaticNormalRelativeData(sectionPos, vertexCounts, quads.length);
-        var sorter = new StaticSorter(quads.length);
+    private static StaticNormalRelativeData fromDoubleUnaligned(int[] vertexCounts, TQuadList quads, SectionPos sectionPos) {
+        var snrData = new StaticNormalRelativeData(sectionPos, vertexCounts, quads.size());
+        var sorter = new StaticSorter(quads.size());
         snrData.sorterOnce = sorter;
         var indexBuffer = sorter.getIntBuffer();
 
-        if (quads.length <= 1) {
+        if (quads.size() <= 1) {
             TranslucentData.writeQuadVertexIndexes(indexBuffer, 0);
-        } else if (RadixSort.useRadixSort(quads.length)) {
-            final var keys = new int[quads.length];
+        } else if (RadixSort.useRadixSort(quads.size())) {
+            final var keys = RadixSort.getFloatKeyBuffer(quads.size());
 
-            for (int q = 0; q < quads.length; q++) {
-                keys[q] = MathUtil.floatToComparableInt(quads[q].getAccurateDotProduct());
+            for (int q = 0; q < quads.size(); q++) {
+                keys[q] = quads.getAccurateDotProduct(q);
             }
 
-            var indices = RadixSort.sort(keys);
+            var indices = RadixSort.sort(keys, quads.size(), false);
 
-            for (int i = 0; i < quads.length; i++) {
+            for (int i = 0; i < quads.size(); i++) {
                 TranslucentData.writeQuadVertexIndexes(indexBuffer, indices[i]);
             }
         } else {
-            final var sortData = new long[quads.length];
+            final var sortData = new long[quads.size()];
 
-            for (int q = 0; q < quads.length; q++) {
-                int dotProductComponent = MathUtil.floatToComparableInt(quads[q].getAccurateDotProduct());
+            for (int q = 0; q < quads.size(); q++) {
+                int dotProductComponent = MathUtil.floatToComparableInt(quads.getAccurateDotProduct(q));
                 sortData[q] = (long) dotProductComponent << 32 | q;
             }
 
             Arrays.sort(sortData);
 
-            for (int i = 0; i < quads.length; i++) {
+            for (int i = 0; i < quads.size(); i++) {
                 TranslucentData.writeQuadVertexIndexes(indexBuffer, (int) sortData[i]);
             }
         }
@@ -79,9 +79,9 @@ public class StaticNormalRelativeData extends SplitDirectionData {
      * Important: The vertex indexes must start at zero for each facing.
      */
     private static StaticNormalRelativeData fromMixed(int[] vertexCounts,
-                                                      TQuad[] quads, SectionPos sectionPos) {
-        var snrData = new StaticNormalRelativeData(sectionPos, vertexCounts, quads.length);
-        var sorter = new StaticSorter(quads.length);
+                                                      TQuadList quads, SectionPos sectionPos) {
+        var snrData = new StaticNormalRelativeData(sectionPos, vertexCounts, quads.size());
+        var sorter = new StaticSorter(quads.size());
         snrData.sorterOnce = sorter;
         var indexBuffer = sorter.getIntBuffer();
 
@@ -112,21 +112,20 @@ public class StaticNormalRelativeData extends SplitDirectionData {
                 TranslucentData.writeQuadVertexIndexes(indexBuffer, 0);
                 quadIndex++;
             } else if (RadixSort.useRadixSort(count)) {
-                final var keys = new int[count];
+                final var keys = RadixSort.getFloatKeyBuffer(count);
 
                 for (int q = 0; q < count; q++) {
-                    keys[q] = MathUtil.floatToComparableInt(quads[quadIndex++].getAccurateDotProduct());
+                    keys[q] = quads.getAccurateDotProduct(quadIndex++);
                 }
 
-                var indices = RadixSort.sort(keys);
+                var indices = RadixSort.sort(keys, count, false);
 
                 for (int i = 0; i < count; i++) {
                     TranslucentData.writeQuadVertexIndexes(indexBuffer, indices[i]);
                 }
             } else {
                 for (int i = 0; i < count; i++) {
-                    var quad = quads[quadIndex++];
-                    int dotProductComponent = MathUtil.floatToComparableInt(quad.getAccurateDotProduct());
+                    int dotProductComponent = MathUtil.floatToComparableInt(quads.getAccurateDotProduct(quadIndex++));
                     sortData[i] = (long) dotProductComponent << 32 | i;
                 }
 
@@ -144,7 +143,7 @@ public class StaticNormalRelativeData extends SplitDirectionData {
     }
 
     public static StaticNormalRelativeData fromMesh(int[] vertexCounts,
-            TQuad[] quads, SectionPos sectionPos, boolean isDoubleUnaligned) {
+            TQuadList quads, SectionPos sectionPos, boolean isDoubleUnaligned) {
         if (isDoubleUnaligned) {
             return fromDoubleUnaligned(vertexCounts, quads, sectionPos);
         } else {
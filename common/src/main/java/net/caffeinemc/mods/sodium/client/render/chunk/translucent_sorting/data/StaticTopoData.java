@@ -2,7 +2,7 @@ package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data;
 
 import net.caffeinemc.mods.sodium.client.render.chunk.data.BuiltSectionMeshParts;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.SortType;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.minecraft.core.SectionPos;
 
 import java.nio.IntBuffer;
@@ -42,8 +42,8 @@ public class StaticTopoData extends MixedDirectionData {
         }
     }
 
-    public static StaticTopoData fromMesh(int vertexCount, TQuad[] quads, SectionPos sectionPos) {
-        var sorter = new StaticSorter(quads.length);
+    public static StaticTopoData fromMesh(int vertexCount, TQuadList quads, SectionPos sectionPos) {
+        var sorter = new StaticSorter(quads.size());
         var indexWriter = new QuadIndexConsumerIntoBuffer(sorter.getIntBuffer());
 
         if (!TopoGraphSorting.topoGraphSort(indexWriter, quads, null, null)) {
@@ -51,7 +51,7 @@ public class StaticTopoData extends MixedDirectionData {
             return null;
         }
 
-        var staticTopoData = new StaticTopoData(sectionPos, vertexCount, quads.length);
+        var staticTopoData = new StaticTopoData(sectionPos, vertexCount, quads.size());
         staticTopoData.sorterOnce = sorter;
         return staticTopoData;
     }
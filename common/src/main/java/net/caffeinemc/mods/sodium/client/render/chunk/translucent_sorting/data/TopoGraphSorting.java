@@ -3,7 +3,7 @@ package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data;
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.AlignableNormal;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.caffeinemc.mods.sodium.client.util.collections.BitArray;
 import org.joml.Vector3fc;
 
@@ -25,68 +25,66 @@ public class TopoGraphSorting {
     }
 
     /**
-     * Test if the given point is within the half space defined by the plane anchor
-     * and the plane normal. The normal points away from the space considered to be
-     * inside.
+     * Test if the given point is within the half space defined by the quad's plane.
+     * The quad's normal points away from the space considered to be inside.
      *
-     * @param planeDistance dot product of the plane
-     * @param planeNormal   the normal of the plane
-     * @param point         the point to test
+     * @param quads the quads
+     * @param quad  the quad that defines the plane
+     * @param point the point to test
      */
-    private static boolean pointOutsideHalfSpace(float planeDistance, Vector3fc planeNormal, Vector3fc point) {
-        return planeNormal.dot(point) > planeDistance;
+    private static boolean pointOutsideHalfSpace(TQuadList quads, int quad, Vector3fc point) {
+        return quads.accurateNormalDot(quad, point) > quads.getAccurateDotProduct(quad);
     }
 
     /**
-     * Test if the given point is within the half space defined by the plane anchor and the plane normal. The normal points away from the space considered to be inside.
+     * Test if the given point is within the half space defined by the quad's plane. The quad's normal points away from the space considered to be inside.
      * <p>
      * A small epsilon is added in the test to account for floating point errors, making it harder for a point on the edge to be considered inside.
      *
-     * @param planeDistance dot product of the plane
-     * @param planeNormal   the normal of the plane
-     * @param x             x coordinate of the point
-     * @param y             y coordinate of the point
-     * @param z             z coordinate of the point
+     * @param quads the quads
+     * @param quad  the quad that defines the plane
+     * @param x     x coordinate of the point
+     * @param y     y coordinate of the point
+     * @param z     z coordinate of the point
      * @return true if the point is inside the half space
      */
-    private static boolean pointInsideHalfSpaceEpsilon(float planeDistance, Vector3fc planeNormal, float x, float y, float z) {
-        return planeNormal.dot(x, y, z) + HALF_SPACE_EPSILON < planeDistance;
+    private static boolean pointInsideHalfSpaceEpsilon(TQuadList quads, int quad, float x, float y, float z) {
+        return quads.accurateNormalDot(quad, x, y, z) + HALF_SPACE_EPSILON < quads.getAccurateDotProduct(quad);
     }
 
     /**
-     * Test if the given point is outside the half space defined by the plane anchor and the plane normal. The normal points away from the space considered to be inside.
+     * Test if the given point is outside the half space defined by the quad's plane. The quad's normal points away from the space considered to be inside.
      * <p>
      * A small epsilon is subtracted in the test to account for floating point errors, making it harder for a point on the edge to be considered outside.
      *
-     * @param planeDistance dot product of the plane
-     * @param planeNormal   the normal of the plane
-     * @param x             x coordinate of the point
-     * @param y             y coordinate of the point
-     * @param z             z coordinate of the point
+     * @param quads the quads
+     * @param quad  the quad that defines the plane
+     * @param x     x coordinate of the point
+     * @param y     y coordinate of the point
+     * @param z     z coordinate of the point
      * @return true if the point is inside the half space
      */
-    private static boolean pointOutsideHalfSpaceEpsilon(float planeDistance, Vector3fc planeNormal, float x, float y, float z) {
-        return planeNormal.dot(x, y, z) - HALF_SPACE_EPSILON > planeDistance;
+    private static boolean pointOutsideHalfSpaceEpsilon(TQuadList quads, int quad, float x, float y, float z) {
+        return quads.accurateNormalDot(quad, x, y, z) - HALF_SPACE_EPSILON > quads.getAccurateDotProduct(quad);
     }
 
-    public static boolean orthogonalQuadVisibleThrough(TQuad quadA, TQuad quadB) {
-        var aDirection = quadA.getFacing().ordinal();
-        var aOpposite = quadA.getFacing().getOpposite().ordinal();
-        var bDirection = quadB.getFacing().ordinal();
-        var aSign = quadA.getFacing().getSign();
-        var bSign = quadB.getFacing().getSign();
-
-        var aExtents = quadA.getExtents();
-        var bExtents = quadB.getExtents();
+    public static boolean orthogonalQuadVisibleThrough(TQuadList quads, int quadA, int quadB) {
+        var aFacing = quads.getFacing(quadA);
+        var bFacing = quads.getFacing(quadB);
+        var aDirection = aFacing.ordinal();
+        var aOpposite = aFacing.getOpposite().ordinal();
+        var bDirection = bFacing.ordinal();
+        var aSign = aFacing.getSign();
+        var bSign = bFacing.getSign();
 
         // test that B has an extent within A's half space and that A is not fully within B's half space
-        float BIntoADescent = aSign * aExtents[aDirection] - aSign * bExtents[aOpposite];
-        float AOutsideBAscent = bSign * aExtents[bDirection] - bSign * bExtents[bDirection];
+        float BIntoADescent = aSign * quads.getExtent(quadA, aDirection) - aSign * quads.getExtent(quadB, aOpposite);
+        float AOutsideBAscent = bSign * quads.getExtent(quadA, bDirection) - bSign * quads.getExtent(quadB, bDirection);
 
         var vis = BIntoADescent > 0 && AOutsideBAscent > 0;
 
         // if they're visible and their bounding boxes intersect and apply a heuristic to resolve
-        if (vis && TQuad.extentsIntersect(aExtents, bExtents)) {
+        if (vis && quads.extentsIntersect(quadA, quadB)) {
             return BIntoADescent + AOutsideBAscent > 1;
         }
         return vis;
@@ -101,7 +99,7 @@ public class TopoGraphSorting {
         return AlignableNormal.queryRange(distances, start, end);
     }
 
-    private static boolean visibilityWithSeparator(TQuad quadA, TQuad quadB,
+    private static boolean visibilityWithSeparator(TQuadList quads, int quadA, int quadB,
                                                    Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal, Vector3fc cameraPos) {
         // check if there is an aligned separator
         for (int direction = 0; direction < ModelQuadFacing.DIRECTIONS; direction++) {
@@ -115,8 +113,8 @@ public class TopoGraphSorting {
             // facing turns the whole space around. The start and end are ordered along the
             // < relation as is the normal. The normal always points in the direction of
             // greater values, even if all the geometry has negative values.
-            var separatorRangeStart = sign * quadB.getExtents()[direction];
-            var separatorRangeEnd = sign * quadA.getExtents()[oppositeDirection];
+            var separatorRangeStart = sign * quads.getExtent(quadB, direction);
+            var separatorRangeEnd = sign * quads.getExtent(quadA, oppositeDirection);
             if (separatorRangeStart > separatorRangeEnd) {
                 continue;
             }
@@ -157,19 +155,20 @@ public class TopoGraphSorting {
      * Checks if one quad is visible through the other quad. This accepts arbitrary
      * quads, even unaligned ones.
      *
-     * @param quad              the quad through which the other quad is being tested
-     * @param other             the quad being tested
+     * @param quads             the quads
+     * @param quad              the index of the quad through which the other quad is being tested
+     * @param other             the index of the quad being tested
      * @param distancesByNormal a map of normals to sorted arrays of face plane distances for disproving that the quads are visible through each other, null to disable
      * @return true if the other quad is visible through the first quad
      */
-    private static boolean quadVisibleThrough(TQuad quad, TQuad other,
+    private static boolean quadVisibleThrough(TQuadList quads, int quad, int other,
                                               Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal, Vector3fc cameraPos) {
         if (quad == other) {
             return false;
         }
 
-        var quadFacing = quad.getFacing();
-        var otherFacing = other.getFacing();
+        var quadFacing = quads.getFacing(quad);
+        var otherFacing = quads.getFacing(other);
         boolean result = false;
         if (quadFacing != ModelQuadFacing.UNASSIGNED && otherFacing != ModelQuadFacing.UNASSIGNED) {
             // aligned quads
@@ -183,42 +182,34 @@ public class TopoGraphSorting {
             if (quadFacing == otherFacing) {
                 var sign = quadFacing.getSign();
                 var direction = quadFacing.ordinal();
-                result = sign * quad.getExtents()[direction] > sign * other.getExtents()[direction];
+                result = sign * quads.getExtent(quad, direction) > sign * quads.getExtent(other, direction);
             } else {
                 // orthogonal quads
-                result = orthogonalQuadVisibleThrough(quad, other);
+                result = orthogonalQuadVisibleThrough(quads, quad, other);
             }
         } else {
             // at least one unaligned quad
 
-            var quadDot = quad.getAccurateDotProduct();
-            var quadNormal = quad.getAccurateNormal();
-            var otherVertexPositions = other.getVertexPositions();
-
             // at least one of the other quad's vertexes must be inside the half space of the first quad
             var otherInsideQuad = false;
             for (int i = 0, itemIndex = 0; i < 4; i++) {
-                if (pointInsideHalfSpaceEpsilon(quadDot, quadNormal,
-                        otherVertexPositions[itemIndex++],
-                        otherVertexPositions[itemIndex++],
-                        otherVertexPositions[itemIndex++])) {
+                if (pointInsideHalfSpaceEpsilon(quads, quad,
+                        quads.getVertexPosition(other, itemIndex++),
+                        quads.getVertexPosition(other, itemIndex++),
+                        quads.getVertexPosition(other, itemIndex++))) {
                     otherInsideQuad = true;
                     break;
                 }
             }
             if (otherInsideQuad) {
-                var otherDot = other.getAccurateDotProduct();
-                var otherNormal = other.getAccurateNormal();
-                var quadVertexPositions = quad.getVertexPositions();
-
                 // not all the quad's vertexes must be inside the half space of the other quad
                 // i.e. there must be at least one vertex outside the other quad
                 var quadNotFullyInsideOther = false;
                 for (int i = 0, itemIndex = 0; i < 4; i++) {
-                    if (pointOutsideHalfSpaceEpsilon(otherDot, otherNormal,
-                            quadVertexPositions[itemIndex++],
-                            quadVertexPositions[itemIndex++],
-                            quadVertexPositions[itemIndex++])) {
+                    if (pointOutsideHalfSpaceEpsilon(quads, other,
+                            quads.getVertexPosition(quad, itemIndex++),
+                            quads.getVertexPosition(quad, itemIndex++),
+                            quads.getVertexPosition(quad, itemIndex++))) {
                         quadNotFullyInsideOther = true;
                         break;
                     }
@@ -230,7 +221,7 @@ public class TopoGraphSorting {
 
         // if enabled and necessary, try to disprove this see-through relationship with a separator plane
         if (result && distancesByNormal != null) {
-            return visibilityWithSeparator(quad, other, distancesByNormal, cameraPos);
+            return visibilityWithSeparator(quads, quad, other, distancesByNormal, cameraPos);
         }
 
         return result;
@@ -242,34 +233,30 @@ public class TopoGraphSorting {
      * and if necessary separator planes are used to disprove visibility.
      *
      * @param indexConsumer     the consumer to write the topo sort result to
-     * @param allQuads          the quads to sort
+     * @param quads             the quads to sort
      * @param distancesByNormal a map of normals to sorted arrays of face plane
      *                          distances, null to disable
      * @param cameraPos         the camera position, or null to disable the
      *                          visibility check
      */
     public static boolean topoGraphSort(
-            IntConsumer indexConsumer, TQuad[] allQuads,
+            IntConsumer indexConsumer, TQuadList quads,
             Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal,
             Vector3fc cameraPos) {
         // if enabled, check for visibility and produce a mapping of indices
-        TQuad[] quads;
         int[] activeToRealIndex = null;
 
-        // keep track of the number of quads to be processed, this is possibly less than quads.length
+        // keep track of the number of quads to be processed, this is possibly less than quads.size()
         int quadCount = 0;
 
         if (cameraPos != null) {
-            // allocate the working quads and index map at the full size to avoid needing to
-            // iterate the quads again after checking visibility
-            quads = new TQuad[allQuads.length];
-            activeToRealIndex = new int[allQuads.length];
-
-            for (int i = 0; i < allQuads.length; i++) {
-                TQuad quad = allQuads[i];
-                if (pointOutsideHalfSpace(quad.getAccurateDotProduct(), quad.getAccurateNormal(), cameraPos)) {
+            // allocate the index map at the full size to avoid needing to iterate the
+            // quads again after checking visibility
+            activeToRealIndex = new int[quads.size()];
+
+            for (int i = 0; i < quads.size(); i++) {
+                if (pointOutsideHalfSpace(quads, i, cameraPos)) {
                     activeToRealIndex[quadCount] = i;
-                    quads[quadCount] = quad;
                     quadCount++;
                 } else {
                     // write the invisible quads right away
@@ -277,14 +264,20 @@ public class TopoGraphSorting {
                 }
             }
         } else {
-            quads = allQuads;
-            quadCount = allQuads.length;
+            quadCount = quads.size();
         }
 
         return topoGraphSort(indexConsumer, quads, quadCount, activeToRealIndex, distancesByNormal, cameraPos);
     }
 
-    public static boolean topoGraphSort(IntConsumer indexConsumer, TQuad[] quads, int quadCount, int[] activeToRealIndex, Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal, Vector3fc cameraPos) {
+    /**
+     * Performs a topological sort on a subset of the given quads.
+     *
+     * @param quadCount         the number of quads to sort
+     * @param activeToRealIndex the indexes of the quads to sort, or null to sort
+     *                          the first quadCount quads
+     */
+    public static boolean topoGraphSort(IntConsumer indexConsumer, TQuadList quads, int quadCount, int[] activeToRealIndex, Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal, Vector3fc cameraPos) {
         // special case for 0 to 2 quads
         if (quadCount == 0) {
             return true;
@@ -302,7 +295,7 @@ public class TopoGraphSorting {
         if (quadCount == 2) {
             var a = 0;
             var b = 1;
-            if (quadVisibleThrough(quads[a], quads[b], null, null)) {
+            if (quadVisibleThrough(quads, realIndex(activeToRealIndex, a), realIndex(activeToRealIndex, b), null, null)) {
                 a = 1;
                 b = 0;
             }
@@ -337,9 +330,9 @@ public class TopoGraphSorting {
                 var nextEdgeTest = unvisited.nextSetBit(nextEdge[stackPos]);
                 if (nextEdgeTest != -1) {
                     if (currentQuadIndex != nextEdgeTest) {
-                        var currentQuad = quads[currentQuadIndex];
-                        var nextQuad = quads[nextEdgeTest];
-                        if (quadVisibleThrough(currentQuad, nextQuad, distancesByNormal, cameraPos)) {
+                        var currentQuad = realIndex(activeToRealIndex, currentQuadIndex);
+                        var nextQuad = realIndex(activeToRealIndex, nextEdgeTest);
+                        if (quadVisibleThrough(quads, currentQuad, nextQuad, distancesByNormal, cameraPos)) {
                             // if the visible quad is on the stack, there is a cycle
                             if (onStack.getAndSet(nextEdgeTest)) {
                                 return false;
@@ -383,4 +376,8 @@ public class TopoGraphSorting {
 
         return true;
     }
+
+    private static int realIndex(int[] activeToRealIndex, int activeIndex) {
+        return activeToRealIndex != null ? activeToRealIndex[activeIndex] : activeIndex;
+    }
 }
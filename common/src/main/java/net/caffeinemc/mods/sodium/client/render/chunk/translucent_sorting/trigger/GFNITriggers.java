@@ -22,13 +22,25 @@ class GFNITriggers implements SectionTriggers<DynamicData> {
      */
     private Object2ReferenceOpenHashMap<Vector3fc, NormalList> normalLists = new Object2ReferenceOpenHashMap<>();
 
+    /**
+     * The normal lists as an array for processing movements, or null if normal
+     * lists have been added or removed since it was created.
+     */
+    private NormalList[] normalListArray;
+
     int getUniqueNormalCount() {
         return this.normalLists.size();
     }
 
     @Override
     public void processTriggers(SortTriggering ts, CameraMovement movement) {
-        for (var normalList : this.normalLists.values()) {
+        var normalListArray = this.normalListArray;
+        if (normalListArray == null) {
+            normalListArray = this.normalLists.values().toArray(new NormalList[0]);
+            this.normalListArray = normalListArray;
+        }
+
+        for (var normalList : normalListArray) {
             normalList.processMovement(ts, movement);
         }
     }
@@ -39,6 +51,7 @@ class GFNITriggers implements SectionTriggers<DynamicData> {
         if (normalList == null) {
             normalList = new NormalList(normal);
             this.normalLists.put(normal, normalList);
+            this.normalListArray = null;
             normalList.addSection(normalPlanes, normalPlanes.sectionPos.asLong());
         }
     }
@@ -56,7 +69,9 @@ class GFNITriggers implements SectionTriggers<DynamicData> {
 
     @Override
     public void removeSection(long sectionPos, TranslucentData data) {
-        this.normalLists.values().removeIf(normalList -> this.removeSectionFromList(normalList, sectionPos));
+        if (this.normalLists.values().removeIf(normalList -> this.removeSectionFromList(normalList, sectionPos))) {
+            this.normalListArray = null;
+        }
     }
 
     @Override
@@ -77,6 +92,7 @@ class GFNITriggers implements SectionTriggers<DynamicData> {
                 if (normalPlanes == null) {
                     if (this.removeSectionFromList(normalList, sectionPos)) {
                         iterator.remove();
+                        this.normalListArray = null;
                     }
                 } else {
                     normalList.updateSection(normalPlanes, sectionPos);
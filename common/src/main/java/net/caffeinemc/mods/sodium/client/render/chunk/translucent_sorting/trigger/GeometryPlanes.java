@@ -6,7 +6,7 @@ import org.joml.Vector3fc;
 
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
 import net.caffeinemc.mods.sodium.client.model.quad.properties.ModelQuadFacing;
-import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuad;
+import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.TQuadList;
 import net.minecraft.core.SectionPos;
 
 /**
@@ -89,12 +89,12 @@ public class GeometryPlanes {
         normalPlanes.addPlaneMember(distance);
     }
 
-    public void addQuadPlane(SectionPos sectionPos, TQuad quad) {
-        var facing = quad.useQuantizedFacing();
+    public void addQuadPlane(SectionPos sectionPos, TQuadList quads, int quad) {
+        var facing = quads.useQuantizedFacing(quad);
         if (facing.isAligned()) {
-            this.addAlignedPlane(sectionPos, facing.ordinal(), quad.getQuantizedDotProduct());
+            this.addAlignedPlane(sectionPos, facing.ordinal(), quads.getQuantizedDotProduct(quad));
         } else {
-            this.addUnalignedPlane(sectionPos, quad.getQuantizedNormal(), quad.getQuantizedDotProduct());
+            this.addUnalignedPlane(sectionPos, quads.getQuantizedNormal(quad), quads.getQuantizedDotProduct(quad));
         }
     }
 
@@ -123,10 +123,10 @@ public class GeometryPlanes {
         return distancesByNormal;
     }
 
-    public static GeometryPlanes fromQuadLists(SectionPos sectionPos, TQuad[] quads) {
+    public static GeometryPlanes fromQuadLists(SectionPos sectionPos, TQuadList quads) {
         var geometryPlanes = new GeometryPlanes();
-        for (var quad : quads) {
-            geometryPlanes.addQuadPlane(sectionPos, quad);
+        for (int quad = 0; quad < quads.size(); quad++) {
+            geometryPlanes.addQuadPlane(sectionPos, quads, quad);
         }
         return geometryPlanes;
     }
@@ -1,59 +1,66 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigger;
 
-import java.util.Collection;
+import java.util.function.Consumer;
 
-import org.joml.Math;
 import org.joml.Vector3dc;
 
-import net.caffeinemc.mods.sodium.client.util.interval_tree.DoubleInterval;
-import net.caffeinemc.mods.sodium.client.util.interval_tree.Interval;
-import net.caffeinemc.mods.sodium.client.util.interval_tree.Interval.Bounded;
-import net.caffeinemc.mods.sodium.client.util.interval_tree.IntervalTree;
-
 import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ReferenceArraySet;
 import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.AlignableNormal;
+import net.caffeinemc.mods.sodium.client.util.interval_tree.DoubleIntervalTree;
 
 /**
  * A normal list contains all the face planes that have the same normal.
+ * <p>
+ * The distance ranges of the groups are indexed in a primitive interval tree.
+ * Since the tree is immutable, changes to the groups are not applied to it
+ * right away. Added and updated groups are kept in a small list of pending
+ * groups which is checked separately, and removed or updated groups are
+ * skipped when they're found in the tree. The tree is only rebuilt once the
+ * number of changes is large compared to its size, which keeps the cost of
+ * rebuilding it low while sections are loaded and changed every frame.
  */
 public class NormalList {
     /**
-     * Size threshold after which group sets in {@link #groupsByInterval} are
-     * replaced with hash sets to improve update performance.
+     * The minimum number of changes after which the tree is rebuilt, no matter
+     * its size.
      */
-    private static final int HASH_SET_THRESHOLD = 20;
+    private static final int MIN_CHANGES_BEFORE_REBUILD = 32;
 
     /**
-     * Size threshold under which group sets in {@link #groupsByInterval} are
-     * downgraded to array sets to reduce memory usage.
+     * The normal of this normal list.
      */
-    private static final int ARRAY_SET_THRESHOLD = 10;
+    private final AlignableNormal normal;
 
     /**
-     * The normal of this normal list.
+     * A hashmap from chunk sections to groups. This is for finding groups during
+     * updates.
      */
-    private final AlignableNormal normal;
+    private final Long2ReferenceOpenHashMap<Group> groupsBySection = new Long2ReferenceOpenHashMap<>();
 
     /**
-     * An interval tree of group intervals. Since this only stores intervals, the
-     * stored intervals are mapped to groups in a separate hashmap.
+     * An interval tree of the groups' closed distance ranges at the time it was
+     * built, or null if it hasn't been built yet.
      */
-    private final IntervalTree<Double> intervalTree = new IntervalTree<>();
+    private DoubleIntervalTree<Group> groupTree;
 
     /**
-     * A separate hashmap of groups. This is what actually stores the groups since
-     * the interval tree just contains intervals.
+     * The groups that were added or updated since the tree was built.
      */
-    private final Object2ReferenceOpenHashMap<DoubleInterval, Collection<Group>> groupsByInterval = new Object2ReferenceOpenHashMap<>();
+    private final ReferenceLinkedOpenHashSet<Group> pendingGroups = new ReferenceLinkedOpenHashSet<>();
 
     /**
-     * A hashmap from chunk sections to groups. This is for finding groups during
-     * updates.
+     * The groups in the tree that were removed or updated since it was built,
+     * which must be skipped when they're found in the tree.
      */
-    private final Long2ReferenceOpenHashMap<Group> groupsBySection = new Long2ReferenceOpenHashMap<>();
+    private final ReferenceOpenHashSet<Group> staleGroups = new ReferenceOpenHashSet<>();
+
+    /**
+     * Triggers the groups found by movement queries. It's reused to avoid
+     * allocating a consumer for every query.
+     */
+    private final GroupTrigger groupTrigger = new GroupTrigger();
 
     /**
      * Constructs a new normal list with the given unit normal vector and aligned
@@ -86,13 +93,41 @@ public class NormalList {
             return;
         }
 
-        // perform the interval query on the group intervals and resolve each interval
-        // to the collection of groups it maps to
-        var interval = new DoubleInterval(start, end, Bounded.CLOSED);
-        for (Interval<Double> groupInterval : intervalTree.query(interval)) {
-            for (Group group : groupsByInterval.get(groupInterval)) {
-                group.triggerRange(ts, start, end);
-            }
+        if (this.needsRebuild()) {
+            this.rebuildTree();
+        }
+
+        // trigger all groups with a closed distance range that overlaps the closed range of the movement
+        var groupTrigger = this.groupTrigger;
+        groupTrigger.prepare(ts, start, end, this.staleGroups.isEmpty() ? null : this.staleGroups);
+        this.groupTree.queryOverlapping(start, end, groupTrigger);
+        groupTrigger.prepare(null, 0, 0, null);
+
+        for (var group : this.pendingGroups) {
+            group.triggerRange(ts, start, end);
+        }
+    }
+
+    private boolean needsRebuild() {
+        if (this.groupTree == null) {
+            return true;
+        }
+
+        int changes = this.pendingGroups.size() + this.staleGroups.size();
+        return changes > Math.max(MIN_CHANGES_BEFORE_REBUILD, this.groupTree.size() >> 2);
+    }
+
+    private void rebuildTree() {
+        this.groupTree = new DoubleIntervalTree<>(this.groupsBySection.values(),
+                group -> group.minDistance, group -> group.maxDistance);
+        this.pendingGroups.clear();
+        this.staleGroups.clear();
+    }
+
+    private void markChanged(Group group) {
+        // groups that are only pending aren't in the tree
+        if (!this.pendingGroups.contains(group) && this.groupTree != null) {
+            this.staleGroups.add(group);
         }
     }
 
@@ -108,37 +143,6 @@ public class NormalList {
         }
     }
 
-    private void removeGroupInterval(Group group) {
-        var groups = this.groupsByInterval.get(group.distances);
-        if (groups != null) {
-            groups.remove(group);
-            if (groups.isEmpty()) {
-                this.groupsByInterval.remove(group.distances);
-
-                // only remove from the interval tree if no other sections are also using it
-                this.intervalTree.remove(group.distances);
-            } else if (groups.size() <= ARRAY_SET_THRESHOLD) {
-                groups = new ReferenceArraySet<>(groups);
-                this.groupsByInterval.put(group.distances, groups);
-            }
-        }
-    }
-
-    private void addGroupInterval(Group group) {
-        var groups = this.groupsByInterval.get(group.distances);
-        if (groups == null) {
-            groups = new ReferenceArraySet<>();
-            this.groupsByInterval.put(group.distances, groups);
-
-            // only add to the interval tree if it's a new interval
-            this.intervalTree.add(group.distances);
-        } else if (groups.size() >= HASH_SET_THRESHOLD) {
-            groups = new ReferenceLinkedOpenHashSet<>(groups);
-            this.groupsByInterval.put(group.distances, groups);
-        }
-        groups.add(group);
-    }
-
     boolean hasSection(long sectionPos) {
         return this.groupsBySection.containsKey(sectionPos);
     }
@@ -151,13 +155,14 @@ public class NormalList {
         var group = new Group(normalPlanes);
 
         this.groupsBySection.put(sectionPos, group);
-        this.addGroupInterval(group);
+        this.pendingGroups.add(group);
     }
 
     void removeSection(long sectionPos) {
         Group group = this.groupsBySection.remove(sectionPos);
         if (group != null) {
-            this.removeGroupInterval(group);
+            this.markChanged(group);
+            this.pendingGroups.remove(group);
         }
     }
 
@@ -170,8 +175,30 @@ public class NormalList {
             return;
         }
 
-        this.removeGroupInterval(group);
+        // the tree holds the old distance range of the group, so it's checked as a pending group instead
+        this.markChanged(group);
         group.replaceWith(normalPlanes);
-        this.addGroupInterval(group);
+        this.pendingGroups.add(group);
+    }
+
+    private static class GroupTrigger implements Consumer<Group> {
+        private SortTriggering ts;
+        private double start;
+        private double end;
+        private ReferenceOpenHashSet<Group> staleGroups;
+
+        private void prepare(SortTriggering ts, double start, double end, ReferenceOpenHashSet<Group> staleGroups) {
+            this.ts = ts;
+            this.start = start;
+            this.end = end;
+            this.staleGroups = staleGroups;
+        }
+
+        @Override
+        public void accept(Group group) {
+            if (this.staleGroups == null || !this.staleGroups.contains(group)) {
+                group.triggerRange(this.ts, this.start, this.end);
+            }
+        }
     }
 }
@@ -3,8 +3,6 @@ package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigg
 import org.joml.Vector3fc;
 import java.util.Arrays;
 
-import net.caffeinemc.mods.sodium.client.util.interval_tree.DoubleInterval;
-import net.caffeinemc.mods.sodium.client.util.interval_tree.Interval.Bounded;
 
 import it.unimi.dsi.fastutil.floats.FloatOpenHashSet;
 import it.unimi.dsi.fastutil.objects.Object2ReferenceOpenHashMap;
@@ -21,7 +19,8 @@ public class NormalPlanes {
     final SectionPos sectionPos;
 
     float[] relativeDistances; // relative to the base distance
-    DoubleInterval distanceRange;
+    double minDistance; // absolute, inclusive
+    double maxDistance; // absolute, inclusive
     long relDistanceHash;
     double baseDistance;
 
@@ -68,10 +67,8 @@ public class NormalPlanes {
 
         this.baseDistance = this.normal.dot(
                 sectionPos.minBlockX(), sectionPos.minBlockY(), sectionPos.minBlockZ());
-        this.distanceRange = new DoubleInterval(
-                this.relativeDistances[0] + this.baseDistance,
-                this.relativeDistances[size - 1] + this.baseDistance,
-                Bounded.CLOSED);
+        this.minDistance = this.relativeDistances[0] + this.baseDistance;
+        this.maxDistance = this.relativeDistances[size - 1] + this.baseDistance;
     }
 
     public void prepareAndInsert(Object2ReferenceOpenHashMap<Vector3fc, float[]> distancesByNormal) {
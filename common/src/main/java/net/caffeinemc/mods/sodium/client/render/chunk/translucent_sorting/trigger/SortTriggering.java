@@ -1,12 +1,21 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.trigger;
 
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.SortBehavior;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.data.DynamicData;
 import org.joml.Vector3dc;
 
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.caffeinemc.mods.sodium.client.SodiumClientMod;
 import net.caffeinemc.mods.sodium.client.render.chunk.translucent_sorting.AlignableNormal;
@@ -19,6 +28,14 @@ import net.minecraft.core.SectionPos;
  * This class is a central point in translucency sorting. It counts the number
  * of translucent data objects for each sort type and delegates triggering of
  * sections for dynamic sorting to the trigger components.
+ * <p>
+ * Triggering can also be performed asynchronously on a dedicated thread while
+ * the frame is being rendered. The triggered sections are then collected and
+ * scheduled for sorting at the start of the next frame. The trigger components
+ * must not be modified while an asynchronous triggering is running, so all
+ * methods that modify them wait for it to finish first. The common fork-join
+ * pool isn't used for this since the chunk builder fills it with BSP building
+ * work, which would delay the triggering and stall the next frame.
  * 
  * TODO:
  * - investigate why there's a similar number of STA and DYN sections. This might be normal, the counters might be broken or the heuristic is actually wrong.
@@ -26,6 +43,12 @@ import net.minecraft.core.SectionPos;
  * @author douira (the translucent_sorting package)
  */
 public class SortTriggering {
+    private static final ExecutorService ASYNC_TRIGGERING_EXECUTOR = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                    .setNameFormat("Sort Triggering Executor")
+                    .setDaemon(true)
+                    .build());
+
     /**
      * To avoid generating a collection of the triggered sections, this callback is
      * used to process the triggered sections directly as they are queried from the
@@ -60,6 +83,15 @@ public class SortTriggering {
     private final GFNITriggers gfni = new GFNITriggers();
     private final DirectTriggers direct = new DirectTriggers();
 
+    /**
+     * The asynchronous triggering that is currently running, or null if there is
+     * none. The sections it triggers are stored in the lists of async triggered
+     * sections until they're collected.
+     */
+    private Future<?> asyncTriggering;
+    private final LongArrayList asyncTriggeredSections = new LongArrayList();
+    private final BooleanArrayList asyncTriggeredIsDirect = new BooleanArrayList();
+
     interface SectionTriggers<T extends DynamicData> {
         void processTriggers(SortTriggering ts, CameraMovement movement);
 
@@ -75,6 +107,70 @@ public class SortTriggering {
      * @param movement               the camera movement to trigger for
      */
     public void triggerSections(BiConsumer<Long, Boolean> triggerSectionCallback, CameraMovement movement) {
+        this.awaitAsyncTriggering();
+        this.processTriggers(triggerSectionCallback, movement);
+    }
+
+    /**
+     * Starts triggering the sections that the given camera movement crosses face
+     * planes of on a worker thread. The triggered sections are passed to the
+     * callback once {@link #collectAsyncTriggers(BiConsumer)} is called.
+     *
+     * @param movement the camera movement to trigger for
+     */
+    public void triggerSectionsAsync(CameraMovement movement) {
+        this.awaitAsyncTriggering();
+        this.asyncTriggering = ASYNC_TRIGGERING_EXECUTOR.submit(
+                () -> this.processTriggers(this::addAsyncTriggeredSection, movement));
+    }
+
+    /**
+     * Waits for the asynchronous triggering to finish, if there is one, and passes
+     * the sections it triggered to the callback.
+     *
+     * @param triggerSectionCallback called for each section that was triggered
+     */
+    public void collectAsyncTriggers(BiConsumer<Long, Boolean> triggerSectionCallback) {
+        this.awaitAsyncTriggering();
+
+        for (int i = 0; i < this.asyncTriggeredSections.size(); i++) {
+            triggerSectionCallback.accept(this.asyncTriggeredSections.getLong(i), this.asyncTriggeredIsDirect.getBoolean(i));
+        }
+
+        this.asyncTriggeredSections.clear();
+        this.asyncTriggeredIsDirect.clear();
+    }
+
+    /**
+     * Waits for the asynchronous triggering to finish and discards the sections it
+     * triggered.
+     */
+    public void discardAsyncTriggers() {
+        this.awaitAsyncTriggering();
+
+        this.asyncTriggeredSections.clear();
+        this.asyncTriggeredIsDirect.clear();
+    }
+
+    private void awaitAsyncTriggering() {
+        if (this.asyncTriggering != null) {
+            var triggering = this.asyncTriggering;
+            this.asyncTriggering = null;
+
+            try {
+                Uninterruptibles.getUninterruptibly(triggering);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Asynchronous sort triggering failed", e.getCause());
+            }
+        }
+    }
+
+    private void addAsyncTriggeredSection(long sectionPos, boolean isDirectTrigger) {
+        this.asyncTriggeredSections.add(sectionPos);
+        this.asyncTriggeredIsDirect.add(isDirectTrigger);
+    }
+
+    private void processTriggers(BiConsumer<Long, Boolean> triggerSectionCallback, CameraMovement movement) {
         this.triggeredNormals.clear();
         this.triggerSectionCallback = triggerSectionCallback;
         var oldGfniTriggerCount = this.gfniTriggerCount;
@@ -137,6 +233,8 @@ public class SortTriggering {
             return;
         }
 
+        this.awaitAsyncTriggering();
+
         if (data.checkAndApplyGFNITriggerOff(topoSorter)) {
             this.gfni.removeSection(pos.asLong(), data);
         }
@@ -174,6 +272,7 @@ public class SortTriggering {
         if (oldData == null) {
             return;
         }
+        this.awaitAsyncTriggering();
         this.gfni.removeSection(sectionPos, oldData);
         this.direct.removeSection(sectionPos, oldData);
         this.decrementSortTypeCounter(oldData);
@@ -190,6 +289,8 @@ public class SortTriggering {
             return;
         }
 
+        this.awaitAsyncTriggering();
+
         var pos = newData.sectionPos;
 
         this.incrementSortTypeCounter(newData);
@@ -224,6 +325,8 @@ public class SortTriggering {
     }
 
     public void addDebugStrings(List<String> list) {
+        this.awaitAsyncTriggering();
+
         var sortBehavior = SodiumClientMod.options().performance.getSortBehavior();
         if (sortBehavior.getSortMode() == SortBehavior.SortMode.NONE) {
             list.add("TS OFF");
@@ -1,22 +1,50 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.vertex.builder;
 
 import net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.Material;
+import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexBatch;
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexEncoder;
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexType;
+import net.caffeinemc.mods.sodium.client.util.NativeBuffer;
 import org.apache.commons.lang3.Validate;
 import org.lwjgl.system.MemoryUtil;
 import java.nio.ByteBuffer;
 
+/**
+ * A growable buffer of vertices, which is re-used by a worker thread for every section it builds. The buffer is kept
+ * between tasks as long as it isn't much larger than the number of vertices written by recent tasks, which is tracked
+ * by a high-water mark that decays with each task. Once a builder has a history, its capacity follows the high-water
+ * mark instead of the initial capacity, so that the vertex data usually fills enough of the buffer to be handed over
+ * without copying it. Storage is only allocated once the first vertices are written, which means builders for facings
+ * that never receive any geometry don't hold a buffer.
+ *
+ * Pushed quads are collected in a batch and encoded together once the batch is full, or when the vertex data is
+ * accessed. The vertex count and the vertex data therefore only include the pending quads after they were flushed,
+ * which all accessors do implicitly.
+ */
 public class ChunkMeshBufferBuilder {
+    // The high-water mark decays by 1/16th with every task
+    private static final int HIGH_WATER_MARK_DECAY_SHIFT = 4;
+
+    // The smallest capacity a builder with a history is sized to
+    private static final int MIN_CAPACITY = 1024;
+
+    // The number of quads which are encoded at once
+    private static final int BATCH_SIZE = 64;
+
     private final ChunkVertexEncoder encoder;
     private final int stride;
 
+    private final ChunkVertexBatch batch = new ChunkVertexBatch(BATCH_SIZE);
+
     private final int initialCapacity;
 
+    private NativeBuffer storage;
     private ByteBuffer buffer;
     private int vertexCount;
     private int vertexCapacity;
 
+    private int highWaterMark;
+
     private int sectionIndex;
 
     public ChunkMeshBufferBuilder(ChunkVertexType vertexType, int initialCapacity) {
@@ -38,15 +66,36 @@ public class ChunkMeshBufferBuilder {
             throw new IllegalArgumentException("Only quad primitives (with 4 vertices) can be pushed");
         }
 
-        this.ensureCapacity(4);
+        this.batch.add(vertices, materialBits);
+
+        if (this.batch.isFull()) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Encodes the pending quads into the vertex buffer.
+     */
+    private void flush() {
+        int vertexCount = this.batch.getQuadCount() * 4;
+
+        if (vertexCount == 0) {
+            return;
+        }
+
+        this.ensureCapacity(vertexCount);
+
+        this.encoder.writeBatch(MemoryUtil.memAddress(this.buffer, this.vertexCount * this.stride),
+                this.batch, this.sectionIndex);
+        this.vertexCount += vertexCount;
 
-        this.encoder.write(MemoryUtil.memAddress(this.buffer, this.vertexCount * this.stride),
-                materialBits, vertices, this.sectionIndex);
-        this.vertexCount += 4;
+        this.batch.clear();
     }
 
     private void ensureCapacity(int vertexCount) {
-        if (this.vertexCount + vertexCount >= this.vertexCapacity) {
+        if (this.storage == null) {
+            this.reallocate(Math.max(this.vertexCapacity, this.vertexCount + vertexCount + 1));
+        } else if (this.vertexCount + vertexCount >= this.vertexCapacity) {
             this.grow(vertexCount);
         }
     }
@@ -59,30 +108,117 @@ public class ChunkMeshBufferBuilder {
     }
 
     private void reallocate(int vertexCount) {
-        this.buffer = MemoryUtil.memRealloc(this.buffer, vertexCount * this.stride);
+        var storage = new NativeBuffer(vertexCount * this.stride);
+        var buffer = storage.getDirectBuffer();
+
+        if (this.storage != null) {
+            MemoryUtil.memCopy(MemoryUtil.memAddress(this.buffer), MemoryUtil.memAddress(buffer),
+                    (long) Math.min(this.vertexCount, vertexCount) * this.stride);
+            this.storage.free();
+        }
+
+        this.storage = storage;
+        this.buffer = buffer;
         this.vertexCapacity = vertexCount;
     }
 
     public void start(int sectionIndex) {
+        // Remember the size of the previous mesh before discarding it
+        this.highWaterMark = Math.max(this.vertexCount, this.highWaterMark - (this.highWaterMark >> HIGH_WATER_MARK_DECAY_SHIFT));
+
+        this.batch.clear();
         this.vertexCount = 0;
         this.sectionIndex = sectionIndex;
 
-        this.reallocate(this.initialCapacity);
+        int targetCapacity = this.getTargetCapacity();
+
+        // Only shrink the buffer once it's much larger than what recent meshes required. Buffers which were released
+        // or handed over are allocated again from the native buffer pool once vertices are written.
+        if (this.storage != null && this.vertexCapacity > targetCapacity * 2) {
+            this.release();
+        }
+
+        if (this.storage == null) {
+            this.vertexCapacity = targetCapacity;
+        }
+    }
+
+    private int getTargetCapacity() {
+        if (this.highWaterMark == 0) {
+            return this.initialCapacity;
+        }
+
+        // Leave some headroom so that slightly larger meshes don't need to grow the buffer
+        return Math.max(MIN_CAPACITY, this.highWaterMark + (this.highWaterMark >> 2));
+    }
+
+    /**
+     * Appends the vertex data of another builder using the same vertex format to this builder. The other builder is
+     * left unchanged.
+     */
+    public void append(ChunkMeshBufferBuilder other) {
+        int vertexCount = other.count();
+
+        if (vertexCount == 0) {
+            return;
+        }
+
+        this.flush();
+        this.ensureCapacity(vertexCount);
+
+        MemoryUtil.memCopy(MemoryUtil.memAddress(other.buffer), MemoryUtil.memAddress(this.buffer, this.vertexCount * this.stride),
+                (long) vertexCount * this.stride);
+        this.vertexCount += vertexCount;
+    }
+
+    /**
+     * Takes the native buffer holding the vertex data without copying it, if the vertex data uses enough of the
+     * buffer's capacity to be worth handing over. The builder is empty afterward, and allocates a new buffer from the
+     * native buffer pool when vertices are written again.
+     *
+     * @return The vertex data, or null if it should be copied from {@link #slice()} instead
+     */
+    public NativeBuffer takeVertexData() {
+        this.flush();
+
+        if (this.isEmpty() || this.vertexCount < this.vertexCapacity / 2) {
+            return null;
+        }
+
+        var storage = this.storage;
+        storage.truncate(this.vertexCount * this.stride);
+
+        this.highWaterMark = Math.max(this.highWaterMark, this.vertexCount);
+
+        this.storage = null;
+        this.buffer = null;
+        this.vertexCount = 0;
+        this.vertexCapacity = this.getTargetCapacity();
+
+        return storage;
     }
 
     public void destroy() {
-        if (this.buffer != null) {
-            MemoryUtil.memFree(this.buffer);
+        this.release();
+    }
+
+    private void release() {
+        if (this.storage != null) {
+            this.storage.free();
         }
 
+        this.storage = null;
         this.buffer = null;
+        this.vertexCapacity = 0;
     }
 
     public boolean isEmpty() {
-        return this.vertexCount == 0;
+        return this.vertexCount == 0 && this.batch.isEmpty();
     }
 
     public ByteBuffer slice() {
+        this.flush();
+
         if (this.isEmpty()) {
             throw new IllegalStateException("No vertex data in buffer");
         }
@@ -91,6 +227,8 @@ public class ChunkMeshBufferBuilder {
     }
 
     public int count() {
+        this.flush();
+
         return this.vertexCount;
     }
 }
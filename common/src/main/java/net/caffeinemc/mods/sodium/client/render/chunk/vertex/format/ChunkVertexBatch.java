@@ -0,0 +1,88 @@
+package net.caffeinemc.mods.sodium.client.render.chunk.vertex.format;
+
+/**
+ * A fixed-size batch of quads with their vertex attributes stored in separate arrays, which allows an encoder to
+ * process all quads of the batch at once with simple loops over primitive arrays.
+ */
+public class ChunkVertexBatch {
+    public final float[] x, y, z;
+    public final float[] u, v;
+    public final float[] ao;
+    public final int[] color;
+    public final int[] light;
+    public final int[] tileU, tileV;
+
+    public final int[] materialBits;
+
+    private final int quadCapacity;
+    private int quadCount;
+
+    public ChunkVertexBatch(int quadCapacity) {
+        int vertexCapacity = quadCapacity * 4;
+
+        this.x = new float[vertexCapacity];
+        this.y = new float[vertexCapacity];
+        this.z = new float[vertexCapacity];
+        this.u = new float[vertexCapacity];
+        this.v = new float[vertexCapacity];
+        this.ao = new float[vertexCapacity];
+        this.color = new int[vertexCapacity];
+        this.light = new int[vertexCapacity];
+        this.tileU = new int[vertexCapacity];
+        this.tileV = new int[vertexCapacity];
+
+        this.materialBits = new int[quadCapacity];
+
+        this.quadCapacity = quadCapacity;
+    }
+
+    /**
+     * Appends a quad to the batch. The batch must not be full.
+     */
+    public void add(ChunkVertexEncoder.Vertex[] vertices, int materialBits) {
+        if (this.isFull()) {
+            throw new IllegalStateException("Batch is full");
+        }
+
+        int quad = this.quadCount++;
+        int base = quad * 4;
+
+        for (int i = 0; i < 4; i++) {
+            var vertex = vertices[i];
+            int index = base + i;
+
+            this.x[index] = vertex.x;
+            this.y[index] = vertex.y;
+            this.z[index] = vertex.z;
+            this.u[index] = vertex.u;
+            this.v[index] = vertex.v;
+            this.ao[index] = vertex.ao;
+            this.color[index] = vertex.color;
+            this.light[index] = vertex.light;
+            this.tileU[index] = vertex.tileU;
+            this.tileV[index] = vertex.tileV;
+        }
+
+        this.materialBits[quad] = materialBits;
+    }
+
+    public int getQuadCount() {
+        return this.quadCount;
+    }
+
+    public int getQuadCapacity() {
+        return this.quadCapacity;
+    }
+
+    public boolean isFull() {
+        return this.quadCount >= this.quadCapacity;
+    }
+
+    public boolean isEmpty() {
+        return this.quadCount == 0;
+    }
+
+    public void clear() {
+        this.quadCount = 0;
+    }
+}
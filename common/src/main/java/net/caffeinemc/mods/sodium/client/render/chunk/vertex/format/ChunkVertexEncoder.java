@@ -3,6 +3,36 @@ package net.caffeinemc.mods.sodium.client.render.chunk.vertex.format;
 public interface ChunkVertexEncoder {
     long write(long ptr, int materialBits, Vertex[] vertices, int sectionIndex);
 
+    /**
+     * Encodes all quads of the batch into consecutive memory, and returns the pointer after the last vertex. The
+     * output must be identical to calling {@link #write(long, int, Vertex[], int)} for each quad in order.
+     */
+    default long writeBatch(long ptr, ChunkVertexBatch batch, int sectionIndex) {
+        Vertex[] vertices = Vertex.uninitializedQuad();
+
+        for (int quad = 0; quad < batch.getQuadCount(); quad++) {
+            for (int i = 0; i < 4; i++) {
+                int index = (quad * 4) + i;
+
+                Vertex vertex = vertices[i];
+                vertex.x = batch.x[index];
+                vertex.y = batch.y[index];
+                vertex.z = batch.z[index];
+                vertex.u = batch.u[index];
+                vertex.v = batch.v[index];
+                vertex.ao = batch.ao[index];
+                vertex.color = batch.color[index];
+                vertex.light = batch.light[index];
+                vertex.tileU = batch.tileU[index];
+                vertex.tileV = batch.tileV[index];
+            }
+
+            ptr = this.write(ptr, batch.materialBits[quad], vertices, sectionIndex);
+        }
+
+        return ptr;
+    }
+
     class Vertex {
         public float x;
         public float y;
@@ -13,6 +43,13 @@ public interface ChunkVertexEncoder {
         public float v;
         public int light;
 
+        /**
+         * The number of sprite repetitions from the tile origin to this vertex. Only used by quads with tiled
+         * materials, see {@link net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.parameters.MaterialParameters#withTiling(int)}.
+         */
+        public int tileU;
+        public int tileV;
+
         public static Vertex[] uninitializedQuad() {
             Vertex[] vertices = new Vertex[4];
 
@@ -1,8 +1,11 @@
 package net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.impl;
 
+import net.caffeinemc.mods.sodium.api.memory.MemoryIntrinsics;
 import net.caffeinemc.mods.sodium.api.util.ColorARGB;
 import net.caffeinemc.mods.sodium.client.gl.attribute.GlVertexFormat;
 import net.caffeinemc.mods.sodium.client.render.chunk.shader.ChunkShaderBindingPoints;
+import net.caffeinemc.mods.sodium.client.render.chunk.terrain.material.parameters.MaterialParameters;
+import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexBatch;
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexEncoder;
 import net.caffeinemc.mods.sodium.client.render.chunk.vertex.format.ChunkVertexType;
 import net.minecraft.util.Mth;
@@ -21,6 +24,15 @@ public class CompactChunkVertex implements ChunkVertexType {
     private static final int POSITION_MAX_VALUE = 1 << 20;
     private static final int TEXTURE_MAX_VALUE = 1 << 15;
 
+    private static final int TILE_DATA_MASK = 0x7FFF;
+    private static final int TILE_COORD_BITS = 5;
+    private static final int TILE_COORD_MASK = (1 << TILE_COORD_BITS) - 1;
+
+    /**
+     * The largest number of times a texture can be repeated across a single tiled quad.
+     */
+    public static final int MAX_TILE_COORD = TILE_COORD_MASK;
+
     private static final float MODEL_ORIGIN = 8.0f;
     private static final float MODEL_RANGE = 32.0f;
 
@@ -31,7 +43,25 @@ public class CompactChunkVertex implements ChunkVertexType {
 
     @Override
     public ChunkVertexEncoder getEncoder() {
-        return (ptr, materialBits, vertices, section) -> {
+        return new Encoder();
+    }
+
+    private static class Encoder implements ChunkVertexEncoder {
+        private static final int INTS_PER_VERTEX = STRIDE / Integer.BYTES;
+
+        // Intermediate attributes for each vertex of a batch, which are re-used between batches
+        private int[] posX, posY, posZ;
+        private int[] texture;
+        private int[] packed;
+
+        private int capacity;
+
+        @Override
+        public long write(long ptr, int materialBits, Vertex[] vertices, int section) {
+            if (MaterialParameters.isTiled(materialBits)) {
+                return writeTiledQuad(ptr, materialBits, vertices, section);
+            }
+
             // Calculate the center point of the texture region which is mapped to the quad
             float texCentroidU = 0.0f;
             float texCentroidV = 0.0f;
@@ -66,7 +96,187 @@ public class CompactChunkVertex implements ChunkVertexType {
             }
 
             return ptr;
-        };
+        }
+
+        /**
+         * Encodes the batch one attribute at a time, using straight loops over the primitive arrays of the batch which
+         * the JIT compiler is able to unroll and vectorize. The interleaved vertex data is assembled in a heap array
+         * and then copied to native memory with a single bulk copy, rather than with individual stores per attribute.
+         *
+         * The output is identical to encoding each quad with {@link #write(long, int, Vertex[], int)}.
+         */
+        @Override
+        public long writeBatch(long ptr, ChunkVertexBatch batch, int section) {
+            int quadCount = batch.getQuadCount();
+            int vertexCount = quadCount * 4;
+
+            if (vertexCount == 0) {
+                return ptr;
+            }
+
+            this.ensureCapacity(vertexCount);
+
+            final int[] posX = this.posX, posY = this.posY, posZ = this.posZ;
+            final int[] texture = this.texture;
+            final int[] packed = this.packed;
+
+            for (int i = 0; i < vertexCount; i++) {
+                posX[i] = quantizePosition(batch.x[i]);
+                posY[i] = quantizePosition(batch.y[i]);
+                posZ[i] = quantizePosition(batch.z[i]);
+            }
+
+            for (int quad = 0; quad < quadCount; quad++) {
+                if (MaterialParameters.isTiled(batch.materialBits[quad])) {
+                    encodeTiledQuadTexture(batch, quad, posX, posY, posZ, texture);
+                } else {
+                    encodeQuadTexture(batch, quad, texture);
+                }
+            }
+
+            for (int i = 0; i < vertexCount; i++) {
+                int offset = i * INTS_PER_VERTEX;
+
+                packed[offset + 0] = packPositionHi(posX[i], posY[i], posZ[i]);
+                packed[offset + 1] = packPositionLo(posX[i], posY[i], posZ[i]);
+                packed[offset + 2] = ColorARGB.mulRGB(batch.color[i], batch.ao[i]);
+                packed[offset + 3] = texture[i];
+                packed[offset + 4] = packLightAndData(encodeLight(batch.light[i]), batch.materialBits[i >> 2], section);
+            }
+
+            MemoryIntrinsics.copyMemory(packed, 0, ptr, vertexCount * INTS_PER_VERTEX);
+
+            return ptr + ((long) vertexCount * STRIDE);
+        }
+
+        private static void encodeQuadTexture(ChunkVertexBatch batch, int quad, int[] texture) {
+            int base = quad * 4;
+
+            // The centroid is summed in the same order as in write() so that the results are bit-identical
+            float texCentroidU = 0.0f;
+            float texCentroidV = 0.0f;
+
+            for (int i = base; i < base + 4; i++) {
+                texCentroidU += batch.u[i];
+                texCentroidV += batch.v[i];
+            }
+
+            texCentroidU *= (1.0f / 4.0f);
+            texCentroidV *= (1.0f / 4.0f);
+
+            for (int i = base; i < base + 4; i++) {
+                texture[i] = packTexture(encodeTexture(texCentroidU, batch.u[i]), encodeTexture(texCentroidV, batch.v[i]));
+            }
+        }
+
+        private static void encodeTiledQuadTexture(ChunkVertexBatch batch, int quad, int[] posX, int[] posY, int[] posZ, int[] texture) {
+            int base = quad * 4;
+
+            float minU = Float.POSITIVE_INFINITY, maxU = Float.NEGATIVE_INFINITY;
+            float minV = Float.POSITIVE_INFINITY, maxV = Float.NEGATIVE_INFINITY;
+
+            for (int i = base; i < base + 4; i++) {
+                minU = Math.min(minU, batch.u[i]);
+                maxU = Math.max(maxU, batch.u[i]);
+                minV = Math.min(minV, batch.v[i]);
+                maxV = Math.max(maxV, batch.v[i]);
+            }
+
+            int tileMin = packTexture(encodeTileBound(minU), encodeTileBound(minV));
+            int tileMaxU = encodeTileBound(maxU);
+            int tileMaxV = encodeTileBound(maxV);
+
+            boolean planar = MaterialParameters.isPlanarTiled(batch.materialBits[quad]);
+
+            for (int i = base; i < base + 4; i++) {
+                posX[i] = (posX[i] & ~TILE_DATA_MASK) | tileMaxU;
+
+                if (planar) {
+                    posZ[i] = (posZ[i] & ~TILE_DATA_MASK) | tileMaxV;
+                } else {
+                    posY[i] = (posY[i] & ~TILE_DATA_MASK) | tileMaxV;
+                    posZ[i] = (posZ[i] & ~TILE_DATA_MASK) | packTileCoord(batch.tileU[i], batch.tileV[i]);
+                }
+
+                texture[i] = tileMin;
+            }
+        }
+
+        private void ensureCapacity(int vertexCount) {
+            if (this.capacity >= vertexCount) {
+                return;
+            }
+
+            this.posX = new int[vertexCount];
+            this.posY = new int[vertexCount];
+            this.posZ = new int[vertexCount];
+            this.texture = new int[vertexCount];
+            this.packed = new int[vertexCount * INTS_PER_VERTEX];
+
+            this.capacity = vertexCount;
+        }
+    }
+
+    /**
+     * Tiled quads are always aligned to the block grid, so the low bits of each quantized position component are
+     * always zero. They are used to carry the upper sprite bounds (in X and Y) and the tile coordinates of the vertex
+     * (in Z), while the texture coordinates hold the lower sprite bounds.
+     *
+     * Planar tiled quads are only aligned to the block grid along the X and Z axes, so the upper sprite bounds are
+     * carried in X and Z instead, and the Y component is left intact. The shader derives their tile coordinates from
+     * the position of the vertex.
+     */
+    private static long writeTiledQuad(long ptr, int materialBits, ChunkVertexEncoder.Vertex[] vertices, int section) {
+        float minU = Float.POSITIVE_INFINITY, maxU = Float.NEGATIVE_INFINITY;
+        float minV = Float.POSITIVE_INFINITY, maxV = Float.NEGATIVE_INFINITY;
+
+        for (var vertex : vertices) {
+            minU = Math.min(minU, vertex.u);
+            maxU = Math.max(maxU, vertex.u);
+            minV = Math.min(minV, vertex.v);
+            maxV = Math.max(maxV, vertex.v);
+        }
+
+        int tileMin = packTexture(encodeTileBound(minU), encodeTileBound(minV));
+        int tileMaxU = encodeTileBound(maxU);
+        int tileMaxV = encodeTileBound(maxV);
+
+        boolean planar = MaterialParameters.isPlanarTiled(materialBits);
+
+        for (int i = 0; i < 4; i++) {
+            var vertex = vertices[i];
+
+            int x = (quantizePosition(vertex.x) & ~TILE_DATA_MASK) | tileMaxU;
+            int y, z;
+
+            if (planar) {
+                y = quantizePosition(vertex.y);
+                z = (quantizePosition(vertex.z) & ~TILE_DATA_MASK) | tileMaxV;
+            } else {
+                y = (quantizePosition(vertex.y) & ~TILE_DATA_MASK) | tileMaxV;
+                z = (quantizePosition(vertex.z) & ~TILE_DATA_MASK) | packTileCoord(vertex.tileU, vertex.tileV);
+            }
+
+            int light = encodeLight(vertex.light);
+
+            MemoryUtil.memPutInt(ptr +  0L, packPositionHi(x, y, z));
+            MemoryUtil.memPutInt(ptr +  4L, packPositionLo(x, y, z));
+            MemoryUtil.memPutInt(ptr +  8L, ColorARGB.mulRGB(vertex.color, vertex.ao));
+            MemoryUtil.memPutInt(ptr + 12L, tileMin);
+            MemoryUtil.memPutInt(ptr + 16L, packLightAndData(light, materialBits, section));
+
+            ptr += STRIDE;
+        }
+
+        return ptr;
+    }
+
+    private static int encodeTileBound(float x) {
+        return Math.min(Math.round(x * TEXTURE_MAX_VALUE), TEXTURE_MAX_VALUE - 1) & TILE_DATA_MASK;
+    }
+
+    private static int packTileCoord(int u, int v) {
+        return ((u & TILE_COORD_MASK) << 0) | ((v & TILE_COORD_MASK) << TILE_COORD_BITS);
     }
 
     private static int packPositionHi(int x, int y, int z) {
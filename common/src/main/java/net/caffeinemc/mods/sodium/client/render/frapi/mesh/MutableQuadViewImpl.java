@@ -239,16 +239,7 @@ public abstract class MutableQuadViewImpl extends QuadViewImpl implements QuadEm
         nominalFace(quad.getDirection());
         colorIndex(quad.getTintIndex());
 
-        // TODO: Is this the same as hasShade?
-        if (!((BakedQuadView) quad).hasShade()) {
-            material = RenderMaterialImpl.setDisableDiffuse((RenderMaterialImpl) material, true);
-        }
-
-        if (material.ambientOcclusion().orElse(true) && !((BakedQuadView) quad).hasAO()) {
-            material = RenderMaterialImpl.setAmbientOcclusion((RenderMaterialImpl) material, TriState.FALSE);
-        }
-
-        material(material);
+        material(getVanillaMaterial(quad, material));
         tag(0);
 
         // Copy geometry cached inside the quad
@@ -272,6 +263,46 @@ public abstract class MutableQuadViewImpl extends QuadViewImpl implements QuadEm
         return this;
     }
 
+    /**
+     * Applies the shading and ambient occlusion flags of a vanilla quad to the given material.
+     */
+    public static RenderMaterial getVanillaMaterial(BakedQuad quad, RenderMaterial material) {
+        // TODO: Is this the same as hasShade?
+        if (!((BakedQuadView) quad).hasShade()) {
+            material = RenderMaterialImpl.setDisableDiffuse((RenderMaterialImpl) material, true);
+        }
+
+        if (material.ambientOcclusion().orElse(true) && !((BakedQuadView) quad).hasAO()) {
+            material = RenderMaterialImpl.setAmbientOcclusion((RenderMaterialImpl) material, TriState.FALSE);
+        }
+
+        return material;
+    }
+
+    /**
+     * Copies the quad in its internal encoding (including the computed geometry) into the given array, so that it
+     * can be restored later with {@link #fromEncoded(int[], int, RenderMaterial, Direction, TextureAtlasSprite)}.
+     */
+    public final void toEncoded(int[] target, int targetIndex) {
+        computeGeometry();
+        System.arraycopy(data, baseIndex, target, targetIndex, EncodingFormat.TOTAL_STRIDE);
+    }
+
+    /**
+     * Restores a quad which was previously stored with {@link #toEncoded(int[], int)}. Unlike the vanilla conversion,
+     * this only needs to copy the data, since the geometry of the quad was already computed.
+     */
+    public final MutableQuadViewImpl fromEncoded(int[] quadData, int startIndex, RenderMaterial material, @Nullable Direction nominalFace, @Nullable TextureAtlasSprite sprite) {
+        System.arraycopy(quadData, startIndex, data, baseIndex, EncodingFormat.TOTAL_STRIDE);
+        NormI8.unpack(data[baseIndex + HEADER_FACE_NORMAL], faceNormal);
+        isGeometryInvalid = false;
+
+        nominalFace(nominalFace);
+        material(material);
+        cachedSprite(sprite);
+        return this;
+    }
+
     /**
      * Emit the quad without clearing the underlying data.
      * Geometry is not guaranteed to be valid when called, but can be computed by calling {@link #computeGeometry()}.
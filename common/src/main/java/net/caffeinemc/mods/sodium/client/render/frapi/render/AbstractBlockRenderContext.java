@@ -5,6 +5,7 @@ import net.caffeinemc.mods.sodium.client.model.light.LightPipeline;
 import net.caffeinemc.mods.sodium.client.model.light.LightPipelineProvider;
 import net.caffeinemc.mods.sodium.client.model.light.data.QuadLightData;
 import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.BlockOcclusionCache;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.StaticModelQuadCache;
 import net.caffeinemc.mods.sodium.client.render.frapi.SodiumRenderer;
 import net.caffeinemc.mods.sodium.client.render.frapi.helper.ColorHelper;
 import net.caffeinemc.mods.sodium.client.render.frapi.mesh.EncodingFormat;
@@ -32,6 +33,7 @@ import net.minecraft.world.level.BlockAndTintGetter;
 import net.minecraft.world.level.block.state.BlockState;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Supplier;
 
@@ -250,4 +252,75 @@ public abstract class AbstractBlockRenderContext extends AbstractRenderContext {
 
         editorQuad.clear();
     }
+
+    /**
+     * Decodes all quads of a model whose quads only depend on the block state, so that they can be stored in the
+     * {@link StaticModelQuadCache}.
+     */
+    protected StaticModelQuadCache.Entry encodeStaticModel(BakedModel model, @Nullable BlockState state) {
+        MutableQuadViewImpl editorQuad = this.editorQuad;
+
+        List<BakedQuad> allQuads = new ArrayList<>();
+        int[] offsets = new int[ModelHelper.NULL_FACE_ID + 2];
+
+        for (int i = 0; i <= ModelHelper.NULL_FACE_ID; i++) {
+            final Direction cullFace = ModelHelper.faceFromIndex(i);
+
+            offsets[i] = allQuads.size();
+            allQuads.addAll(PlatformModelAccess.getInstance().getQuads(level, pos, model, state, cullFace, this.randomSupplier.get(), type, modelData));
+        }
+
+        offsets[ModelHelper.NULL_FACE_ID + 1] = allQuads.size();
+
+        int[] data = new int[allQuads.size() * EncodingFormat.TOTAL_STRIDE];
+
+        for (int i = 0; i <= ModelHelper.NULL_FACE_ID; i++) {
+            final Direction cullFace = ModelHelper.faceFromIndex(i);
+
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                editorQuad.fromVanilla(allQuads.get(j), SodiumRenderer.STANDARD_MATERIAL, cullFace);
+                editorQuad.toEncoded(data, j * EncodingFormat.TOTAL_STRIDE);
+            }
+        }
+
+        editorQuad.clear();
+
+        return new StaticModelQuadCache.Entry(data, allQuads.toArray(new BakedQuad[0]), offsets);
+    }
+
+    /**
+     * Equivalent to {@link #bufferDefaultModel(BakedModel, BlockState)} when no transforms are applied, but uses the
+     * pre-decoded quads of the model instead of fetching and converting them again.
+     */
+    protected void bufferStaticModel(BakedModel model, @Nullable BlockState state, StaticModelQuadCache.Entry entry) {
+        MutableQuadViewImpl editorQuad = this.editorQuad;
+        int[] data = entry.getData();
+
+        for (int i = 0; i <= ModelHelper.NULL_FACE_ID; i++) {
+            final int start = entry.getFaceStart(i);
+            final int end = entry.getFaceEnd(i);
+
+            if (start == end) {
+                continue;
+            }
+
+            final Direction cullFace = ModelHelper.faceFromIndex(i);
+
+            if (this.isFaceCulled(cullFace)) {
+                continue;
+            }
+
+            AmbientOcclusionMode ao = PlatformBlockAccess.getInstance().usesAmbientOcclusion(model, state, modelData, type, slice, pos);
+            RenderMaterial material = (type == RenderType.tripwire() || type == RenderType.translucent()) ? TRANSLUCENT_MATERIAL : STANDARD_MATERIALS[ao.ordinal()];
+
+            for (int j = start; j < end; j++) {
+                final BakedQuad q = entry.getQuad(j);
+                editorQuad.fromEncoded(data, j * EncodingFormat.TOTAL_STRIDE, MutableQuadViewImpl.getVanillaMaterial(q, material), q.getDirection(), q.getSprite());
+
+                this.processQuad(editorQuad);
+            }
+        }
+
+        editorQuad.clear();
+    }
 }
@@ -1,8 +1,5 @@
 package net.caffeinemc.mods.sodium.client.util;
 
-import it.unimi.dsi.fastutil.objects.Reference2ReferenceMap;
-import it.unimi.dsi.fastutil.objects.Reference2ReferenceMaps;
-import it.unimi.dsi.fastutil.objects.Reference2ReferenceOpenHashMap;
 import net.caffeinemc.mods.sodium.client.SodiumClientMod;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -13,23 +10,31 @@ import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+/**
+ * A buffer of native memory which is allocated from the {@link NativeBufferPool}. Buffers which are never freed are
+ * reclaimed after they have been garbage collected, and the allocation site of each leaked buffer is logged if memory
+ * tracing is enabled.
+ */
 public class NativeBuffer {
     private static final Logger LOGGER = LogManager.getLogger(NativeBuffer.class);
 
     private static final ReferenceQueue<NativeBuffer> RECLAIM_QUEUE = new ReferenceQueue<>();
-    private static final Reference2ReferenceMap<Reference<NativeBuffer>, BufferReference> ACTIVE_BUFFERS =
-            Reference2ReferenceMaps.synchronize(new Reference2ReferenceOpenHashMap<>());
+    // Keeps the references of all buffers which haven't been freed yet reachable, so they can be enqueued
+    private static final Set<BufferReference> ACTIVE_BUFFERS = ConcurrentHashMap.newKeySet();
 
-    private static long ALLOCATED = 0L;
+    private static final AtomicLong ALLOCATED = new AtomicLong();
 
     private final BufferReference ref;
 
     public NativeBuffer(int capacity) {
-        this.ref = allocate(capacity);
+        this.ref = allocate(this, capacity);
 
-        ACTIVE_BUFFERS.put(new PhantomReference<>(this, RECLAIM_QUEUE), this.ref);
+        ACTIVE_BUFFERS.add(this.ref);
     }
 
     public static NativeBuffer copy(ByteBuffer src) {
@@ -52,6 +57,20 @@ public class NativeBuffer {
         return this.ref.length;
     }
 
+    /**
+     * Reduces the length of this buffer without moving its contents. The memory past the new length stays allocated
+     * until the buffer is freed.
+     */
+    public void truncate(int length) {
+        this.ref.checkFreed();
+
+        if (length < 0 || length > this.ref.length) {
+            throw new IllegalArgumentException("Length %s is out of bounds for buffer of length %s".formatted(length, this.ref.length));
+        }
+
+        this.ref.length = length;
+    }
+
     public static void reclaim(boolean forceGc) {
         if (forceGc) {
             System.gc();
@@ -60,7 +79,7 @@ public class NativeBuffer {
         Reference<? extends NativeBuffer> ref;
 
         while ((ref = RECLAIM_QUEUE.poll()) != null) {
-            BufferReference buf = ACTIVE_BUFFERS.remove(ref);
+            BufferReference buf = (BufferReference) ref;
 
             if (buf.freed) {
                 continue;
@@ -81,8 +100,18 @@ public class NativeBuffer {
         }
     }
 
+    /**
+     * @return The number of bytes allocated for buffers, including the memory retained by the buffer pool
+     */
     public static long getTotalAllocated() {
-        return ALLOCATED;
+        return ALLOCATED.get() + NativeBufferPool.getRetainedBytes();
+    }
+
+    /**
+     * @return The number of bytes allocated for buffers which are still in use
+     */
+    public static long getUsedBytes() {
+        return ALLOCATED.get();
     }
 
     private static StackTraceElement[] getStackTrace() {
@@ -92,12 +121,14 @@ public class NativeBuffer {
 
     private static final int MAX_ALLOCATION_ATTEMPTS = 3;
 
-    private static BufferReference allocate(int bytes) {
+    private static BufferReference allocate(NativeBuffer owner, int bytes) {
+        int blockSize = NativeBufferPool.getBlockSize(bytes);
+
         long address = 0;
         int attempts = 0;
 
         while (++attempts <= MAX_ALLOCATION_ATTEMPTS) {
-            address = MemoryUtil.nmemAlloc(bytes);
+            address = NativeBufferPool.allocate(blockSize);
 
             if (address != MemoryUtil.NULL) {
                 break;
@@ -106,8 +137,9 @@ public class NativeBuffer {
             LOGGER.error("EMERGENCY: Tried to allocate {} bytes but the allocator reports failure", bytes);
             LOGGER.error("EMERGENCY: ... Attempting to force a garbage collection cycle (attempt {}/{})", attempts, MAX_ALLOCATION_ATTEMPTS);
 
-            // If memory allocation fails, force a garbage collection
+            // If memory allocation fails, force a garbage collection and release the memory held by the pool
             reclaim(true);
+            NativeBufferPool.trim();
         }
 
         if (address == MemoryUtil.NULL) {
@@ -116,8 +148,8 @@ public class NativeBuffer {
 
         StackTraceElement[] stackTrace = getStackTrace();
 
-        BufferReference ref = new BufferReference(address, bytes, stackTrace);
-        ALLOCATED += ref.length;
+        BufferReference ref = new BufferReference(owner, address, bytes, blockSize, stackTrace);
+        ALLOCATED.addAndGet(ref.blockSize);
 
         return ref;
     }
@@ -126,22 +158,29 @@ public class NativeBuffer {
         ref.checkFreed();
         ref.freed = true;
 
-        MemoryUtil.nmemFree(ref.address);
+        ACTIVE_BUFFERS.remove(ref);
+        ref.clear();
 
-        ALLOCATED -= ref.length;
+        NativeBufferPool.free(ref.address, ref.blockSize);
+
+        ALLOCATED.addAndGet(-ref.blockSize);
     }
 
-    private static class BufferReference {
+    private static class BufferReference extends PhantomReference<NativeBuffer> {
         public final long address;
-        public final int length;
+        public int length;
+        public final int blockSize;
 
         public final StackTraceElement[] allocationSite;
 
         public boolean freed;
 
-        private BufferReference(long address, int length, StackTraceElement[] allocationSite) {
+        private BufferReference(NativeBuffer owner, long address, int length, int blockSize, StackTraceElement[] allocationSite) {
+            super(owner, RECLAIM_QUEUE);
+
             this.address = address;
             this.length = length;
+            this.blockSize = blockSize;
             this.allocationSite = allocationSite;
         }
 
@@ -0,0 +1,217 @@
+package net.caffeinemc.mods.sodium.client.util;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A pool of native memory blocks which are re-used by {@link NativeBuffer} instead of going through the system
+ * allocator for every buffer. Requests are rounded up to size classes, and requests larger than the biggest size class
+ * are not pooled. Every power-of-two range is split into four size classes, so that a block is at most a quarter
+ * larger than the requested size. This matters for buffers which are kept for a long time, such as the translucent
+ * index data of a section, since the unused part of their block can't be used by anything else.
+ *
+ * Each thread caches a small magazine of free blocks for every size class, which it can allocate from and free into
+ * without any synchronization. When a magazine is full, it is handed over to a shared depot, where it can be picked up
+ * by threads with an empty magazine. This is important since most buffers are allocated by the chunk builder threads
+ * but freed by the main thread after they were uploaded.
+ *
+ * The amount of memory held by the pool is bounded, and blocks which would exceed the limit are freed immediately.
+ * The cache of a thread must be released with {@link #releaseThreadCache()} before the thread exits, or its blocks
+ * will never be freed.
+ */
+public class NativeBufferPool {
+    private static final int MIN_CLASS_SHIFT = 8; // 256 bytes
+    private static final int MAX_CLASS_SHIFT = 22; // 4 MiB
+
+    // The number of size classes in each power-of-two range is 1 << CLASS_SUBDIVISION_SHIFT
+    private static final int CLASS_SUBDIVISION_SHIFT = 2;
+    private static final int CLASS_COUNT = ((MAX_CLASS_SHIFT - MIN_CLASS_SHIFT) << CLASS_SUBDIVISION_SHIFT) + 1;
+
+    private static final int MAGAZINE_SIZE = 8;
+
+    private static final long MAX_RETAINED_BYTES = 64L * 1024L * 1024L;
+
+    @SuppressWarnings("unchecked")
+    private static final ConcurrentLinkedDeque<long[]>[] DEPOT = new ConcurrentLinkedDeque[CLASS_COUNT];
+
+    private static final ThreadLocal<Magazine[]> THREAD_CACHE = ThreadLocal.withInitial(() -> {
+        var magazines = new Magazine[CLASS_COUNT];
+
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            magazines[i] = new Magazine();
+        }
+
+        return magazines;
+    });
+
+    private static final AtomicLong RETAINED_BYTES = new AtomicLong();
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    static {
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            DEPOT[i] = new ConcurrentLinkedDeque<>();
+        }
+    }
+
+    /**
+     * @return The size of the block which is used to hold a buffer of the given size
+     */
+    static int getBlockSize(int bytes) {
+        int sizeClass = getSizeClass(bytes);
+
+        return sizeClass < 0 ? bytes : getClassBlockSize(sizeClass);
+    }
+
+    /**
+     * Allocates a block of the given size, which must have been returned by {@link #getBlockSize(int)}.
+     *
+     * @return The address of the block, or {@link MemoryUtil#NULL} if the system allocator failed
+     */
+    static long allocate(int blockSize) {
+        int sizeClass = getSizeClass(blockSize);
+
+        if (sizeClass >= 0) {
+            Magazine magazine = THREAD_CACHE.get()[sizeClass];
+
+            if (magazine.count == 0) {
+                long[] full = DEPOT[sizeClass].pollFirst();
+
+                if (full != null) {
+                    magazine.blocks = full;
+                    magazine.count = full.length;
+                }
+            }
+
+            if (magazine.count != 0) {
+                RETAINED_BYTES.addAndGet(-blockSize);
+                HITS.increment();
+
+                return magazine.blocks[--magazine.count];
+            }
+
+            MISSES.increment();
+        }
+
+        return MemoryUtil.nmemAlloc(blockSize);
+    }
+
+    /**
+     * Returns a block to the pool, or frees it if the pool is already holding as much memory as it is allowed to.
+     */
+    static void free(long address, int blockSize) {
+        int sizeClass = getSizeClass(blockSize);
+
+        if (sizeClass < 0 || RETAINED_BYTES.addAndGet(blockSize) > MAX_RETAINED_BYTES) {
+            if (sizeClass >= 0) {
+                RETAINED_BYTES.addAndGet(-blockSize);
+            }
+
+            MemoryUtil.nmemFree(address);
+
+            return;
+        }
+
+        Magazine magazine = THREAD_CACHE.get()[sizeClass];
+
+        if (magazine.count == MAGAZINE_SIZE) {
+            DEPOT[sizeClass].offerFirst(magazine.blocks);
+
+            magazine.blocks = new long[MAGAZINE_SIZE];
+            magazine.count = 0;
+        }
+
+        magazine.blocks[magazine.count++] = address;
+    }
+
+    /**
+     * Frees all blocks cached by the calling thread. This must be called by any thread which allocates or frees
+     * buffers before it exits.
+     */
+    public static void releaseThreadCache() {
+        Magazine[] magazines = THREAD_CACHE.get();
+
+        for (int sizeClass = 0; sizeClass < CLASS_COUNT; sizeClass++) {
+            Magazine magazine = magazines[sizeClass];
+
+            freeBlocks(magazine.blocks, magazine.count, sizeClass);
+            magazine.count = 0;
+        }
+
+        THREAD_CACHE.remove();
+    }
+
+    /**
+     * Frees all blocks in the shared depot and the cache of the calling thread.
+     */
+    public static void trim() {
+        for (int sizeClass = 0; sizeClass < CLASS_COUNT; sizeClass++) {
+            long[] blocks;
+
+            while ((blocks = DEPOT[sizeClass].pollFirst()) != null) {
+                freeBlocks(blocks, blocks.length, sizeClass);
+            }
+        }
+
+        releaseThreadCache();
+    }
+
+    private static void freeBlocks(long[] blocks, int count, int sizeClass) {
+        for (int i = 0; i < count; i++) {
+            MemoryUtil.nmemFree(blocks[i]);
+        }
+
+        RETAINED_BYTES.addAndGet(-((long) count * getClassBlockSize(sizeClass)));
+    }
+
+    /**
+     * @return The index of the smallest size class which can hold the given number of bytes, or -1 if it's larger
+     * than the biggest size class
+     */
+    private static int getSizeClass(int bytes) {
+        if (bytes <= 1 << MIN_CLASS_SHIFT) {
+            return 0;
+        } else if (bytes > 1 << MAX_CLASS_SHIFT) {
+            return -1;
+        }
+
+        // The range (2^n, 2^(n+1)] is split into steps of 2^(n - CLASS_SUBDIVISION_SHIFT)
+        int rangeShift = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(bytes - 1);
+        int stepShift = rangeShift - CLASS_SUBDIVISION_SHIFT;
+        int step = ((bytes - 1) >> stepShift) + 1 - (1 << CLASS_SUBDIVISION_SHIFT);
+
+        return ((rangeShift - MIN_CLASS_SHIFT) << CLASS_SUBDIVISION_SHIFT) + step;
+    }
+
+    private static int getClassBlockSize(int sizeClass) {
+        if (sizeClass == 0) {
+            return 1 << MIN_CLASS_SHIFT;
+        }
+
+        int rangeShift = MIN_CLASS_SHIFT + ((sizeClass - 1) >> CLASS_SUBDIVISION_SHIFT);
+        int step = ((sizeClass - 1) & ((1 << CLASS_SUBDIVISION_SHIFT) - 1)) + 1;
+
+        return ((1 << CLASS_SUBDIVISION_SHIFT) + step) << (rangeShift - CLASS_SUBDIVISION_SHIFT);
+    }
+
+    public static long getRetainedBytes() {
+        return RETAINED_BYTES.get();
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    private static class Magazine {
+        private long[] blocks = new long[MAGAZINE_SIZE];
+        private int count;
+    }
+}
@@ -1,6 +1,5 @@
 package net.caffeinemc.mods.sodium.client.util.color;
 
-import net.caffeinemc.mods.sodium.api.util.ColorARGB;
 import net.minecraft.util.Mth;
 
 public class BoxBlur {
@@ -18,9 +17,8 @@ public class BoxBlur {
         int multiplier = getAveragingMultiplier(windowSize);
 
         for (int y = y0; y < y1; y++) {
-            int accR = 0;
-            int accG = 0;
-            int accB = 0;
+            // The sums of all three color channels within the window, packed into the lanes of a single value
+            long acc = 0;
 
             int windowPivotIndex = ColorBuffer.getIndex(x0, y, width);
             int windowTailIndex = windowPivotIndex - radius;
@@ -28,10 +26,7 @@ public class BoxBlur {
 
             // Initialize window
             for (int x = -radius; x <= radius; x++) {
-                var color = src[windowPivotIndex + x];
-                accR += ColorARGB.unpackRed(color);
-                accG += ColorARGB.unpackGreen(color);
-                accB += ColorARGB.unpackBlue(color);
+                acc += expand(src[windowPivotIndex + x]);
             }
 
             // Scan forwards
@@ -40,32 +35,38 @@ public class BoxBlur {
             while (true) {
                 // The x and y coordinates are transposed to flip the output image
                 // noinspection SuspiciousNameCombination
-                dst[ColorBuffer.getIndex(y, x, width)] = averageRGB(accR, accG, accB, multiplier);
+                dst[ColorBuffer.getIndex(y, x, width)] = averageRGB(acc, multiplier);
                 x++;
 
                 if (x >= x1) {
                     break;
                 }
 
-                {
-                    // Remove the color values that are behind the window
-                    var color = src[windowTailIndex++];
-                    accR -= ColorARGB.unpackRed(color);
-                    accG -= ColorARGB.unpackGreen(color);
-                    accB -= ColorARGB.unpackBlue(color);
-                }
-
-                {
-                    // Add the color values that are ahead of the window
-                    var color = src[++windowHeadIndex];
-                    accR += ColorARGB.unpackRed(color);
-                    accG += ColorARGB.unpackGreen(color);
-                    accB += ColorARGB.unpackBlue(color);
-                }
+                // Remove the color values that are behind the window, and add the color values that are ahead of it
+                acc -= expand(src[windowTailIndex++]);
+                acc += expand(src[++windowHeadIndex]);
             }
         }
     }
 
+    /**
+     * Spreads the color channels of an ARGB color into separate 16-bit lanes (blue, red, and green from the lowest
+     * lane upwards), so that the channels of many colors can be summed with a single addition. The sum of each channel
+     * over the largest window (15 colors) is at most 3825, so the lanes never overflow into each other, and no lane
+     * can underflow since only colors which were previously added are subtracted again.
+     */
+    private static long expand(int color) {
+        return (color & 0x00FF00FFL) | ((color & 0x0000FF00L) << 24);
+    }
+
+    private static int averageRGB(long acc, int multiplier) {
+        int blue = (int) (acc & 0xFFFF);
+        int red = (int) ((acc >>> 16) & 0xFFFF);
+        int green = (int) ((acc >>> 32) & 0xFFFF);
+
+        return averageRGB(red, green, blue, multiplier);
+    }
+
     /**
      * Pre-computes a multiplier that can be used to avoid costly division when averaging the color data in the
      * sliding window.
@@ -121,6 +122,12 @@ public class BoxBlur {
             return this.data[getIndex(x, y, this.width)];
         }
 
+        public ColorBuffer copy() {
+            var copy = new ColorBuffer(this.width, this.height);
+            System.arraycopy(this.data, 0, copy.data, 0, this.data.length);
+            return copy;
+        }
+
         public static int getIndex(int x, int y, int width) {
             return x + (y * width);
         }
@@ -0,0 +1,127 @@
+package net.caffeinemc.mods.sodium.client.util.interval_tree;
+
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An immutable interval tree of closed intervals with {@code double} end points, each of which maps to a value. The end
+ * points aren't boxed and queries don't allocate.
+ * <p>
+ * The tree is implicit and stored in arrays sorted by the start of the intervals. The root of any range of the arrays
+ * is the interval in its middle, with the left and right halves of the range being its subtrees. Each node is
+ * augmented with the maximum end point in its subtree, which allows queries to skip subtrees that end before the
+ * queried range.
+ *
+ * @param <T> The type of the values mapped to by the intervals
+ */
+public class DoubleIntervalTree<T> {
+    private final Object[] values;
+    private final double[] starts;
+    private final double[] ends;
+    private final double[] maxEnds;
+
+    /**
+     * Builds a tree from the given values and the functions that return the start and end points of their intervals.
+     */
+    public DoubleIntervalTree(Collection<? extends T> values, ToDoubleFunction<? super T> start, ToDoubleFunction<? super T> end) {
+        int count = values.size();
+        var unsortedValues = values.toArray();
+        var unsortedStarts = new double[count];
+        var unsortedEnds = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            @SuppressWarnings("unchecked")
+            var value = (T) unsortedValues[i];
+            unsortedStarts[i] = start.applyAsDouble(value);
+            unsortedEnds[i] = end.applyAsDouble(value);
+        }
+
+        var order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        IntArrays.quickSort(order, (a, b) -> Double.compare(unsortedStarts[a], unsortedStarts[b]));
+
+        this.values = new Object[count];
+        this.starts = new double[count];
+        this.ends = new double[count];
+        this.maxEnds = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            this.values[i] = unsortedValues[index];
+            this.starts[i] = unsortedStarts[index];
+            this.ends[i] = unsortedEnds[index];
+        }
+
+        this.computeMaxEnds(0, count);
+    }
+
+    private double computeMaxEnds(int from, int to) {
+        if (from >= to) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        int node = (from + to) >>> 1;
+        double maxEnd = Math.max(this.ends[node],
+                Math.max(this.computeMaxEnds(from, node), this.computeMaxEnds(node + 1, to)));
+        this.maxEnds[node] = maxEnd;
+
+        return maxEnd;
+    }
+
+    public int size() {
+        return this.values.length;
+    }
+
+    public boolean isEmpty() {
+        return this.values.length == 0;
+    }
+
+    /**
+     * Passes the values of all intervals which contain the given point to the consumer, ordered by the start of their
+     * intervals.
+     */
+    public void queryContaining(double point, Consumer<? super T> consumer) {
+        this.queryOverlapping(point, point, consumer);
+    }
+
+    /**
+     * Passes the values of all intervals which overlap the closed interval from {@code start} to {@code end} to the
+     * consumer, ordered by the start of their intervals.
+     */
+    public void queryOverlapping(double start, double end, Consumer<? super T> consumer) {
+        if (start <= end) {
+            this.queryOverlapping(0, this.values.length, start, end, consumer);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void queryOverlapping(int from, int to, double start, double end, Consumer<? super T> consumer) {
+        while (from < to) {
+            int node = (from + to) >>> 1;
+
+            // no interval in this subtree reaches the start of the queried range
+            if (this.maxEnds[node] < start) {
+                return;
+            }
+
+            this.queryOverlapping(from, node, start, end, consumer);
+
+            // this node and all nodes in its right subtree start after the queried range
+            if (this.starts[node] > end) {
+                return;
+            }
+
+            if (this.ends[node] >= start) {
+                consumer.accept((T) this.values[node]);
+            }
+
+            // continue with the right subtree
+            from = node + 1;
+        }
+    }
+}
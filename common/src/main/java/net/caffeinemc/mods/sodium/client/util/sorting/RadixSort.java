@@ -1,5 +1,15 @@
 package net.caffeinemc.mods.sodium.client.util.sorting;
 
+import java.util.Arrays;
+
+/**
+ * Sorts the indices of an array of keys with a stable LSD radix sort. The histogram and the buffers used by the sort
+ * are kept in a per-thread workspace, since sorting is done continuously while the camera moves and allocating new
+ * buffers for every sort would create a lot of garbage.
+ * <p>
+ * Passes over digits which are the same in all keys don't change the order and are skipped. This is common when
+ * sorting distances, which tend to share their exponent and uppermost mantissa bits.
+ */
 public class RadixSort extends AbstractSort {
     public static final int RADIX_SORT_THRESHOLD = 64;
 
@@ -9,49 +19,90 @@ public class RadixSort extends AbstractSort {
     private static final int DIGIT_COUNT = (RADIX_KEY_BITS + DIGIT_BITS - 1) / DIGIT_BITS;
     private static final int DIGIT_MASK = (1 << DIGIT_BITS) - 1;
 
-    public static int[] sort(int[] keys) {
-        if (keys.length <= 1) {
-            return new int[keys.length];
-        }
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * Returns a buffer from the calling thread's workspace which can hold the keys passed to
+     * {@link #sort(float[], int, boolean)}. The buffer may be longer than requested.
+     */
+    public static float[] getFloatKeyBuffer(int length) {
+        var workspace = WORKSPACE.get();
+        workspace.ensureCapacity(length);
 
-        return radixSort(keys, createHistogram(keys));
+        return workspace.floatKeys;
     }
 
-    private static int[][] createHistogram(int[] keys) {
-        var histogram = new int[DIGIT_COUNT][BUCKET_COUNT];
+    /**
+     * Sorts the first {@code length} of the given float keys. The floats are mapped to unsigned integers which have
+     * the same order by flipping the sign bit of positive floats and all bits of negative floats, which makes negative
+     * keys sort correctly.
+     * <p>
+     * The returned array belongs to the calling thread's workspace and is only valid until the next sort on the same
+     * thread. It may be longer than {@code length}.
+     *
+     * @param descending Whether the keys should be sorted from largest to smallest
+     * @return The indices of the keys in sorted order
+     */
+    public static int[] sort(float[] keys, int length, boolean descending) {
+        var workspace = WORKSPACE.get();
+        workspace.ensureCapacity(length);
+
+        int[] intKeys = workspace.intKeys;
+        int[][] histogram = workspace.histogram;
+        int invert = descending ? -1 : 0;
+
+        clearHistogram(histogram);
+
+        for (int i = 0; i < length; i++) {
+            int bits = Float.floatToRawIntBits(keys[i]);
+            int key = bits ^ ((bits >> 31) | Integer.MIN_VALUE) ^ invert;
+            intKeys[i] = key;
 
-        for (final int key : keys) {
             for (int digit = 0; digit < DIGIT_COUNT; digit++) {
                 histogram[digit][extractDigit(key, digit)] += 1;
             }
         }
 
-        return histogram;
+        return radixSort(workspace, intKeys, length);
     }
 
-    private static void prefixSum(int[][] offsets) {
+    private static void clearHistogram(int[][] histogram) {
         for (int digit = 0; digit < DIGIT_COUNT; digit++) {
-            final var buckets = offsets[digit];
-            var sum = 0;
+            Arrays.fill(histogram[digit], 0);
+        }
+    }
 
-            for (int bucket_idx = 0; bucket_idx < BUCKET_COUNT; bucket_idx++) {
-                final var offset = sum;
-                sum += buckets[bucket_idx];
-                buckets[bucket_idx] = offset;
-            }
+    private static void prefixSum(int[] buckets) {
+        var sum = 0;
+
+        for (int bucket_idx = 0; bucket_idx < BUCKET_COUNT; bucket_idx++) {
+            final var offset = sum;
+            sum += buckets[bucket_idx];
+            buckets[bucket_idx] = offset;
         }
     }
 
-    private static int[] radixSort(int[] keys, int[][] offsets) {
-        prefixSum(offsets);
+    private static int[] radixSort(Workspace workspace, int[] keys, int length) {
+        int[] cur = workspace.indices;
+        int[] next = workspace.temp;
 
-        final var length = keys.length;
+        for (int i = 0; i < length; i++) {
+            cur[i] = i;
+        }
 
-        int[] cur = createIndexBuffer(length);
-        int[] next = new int[length];
+        if (length <= 1) {
+            return cur;
+        }
 
         for (int digit = 0; digit < DIGIT_COUNT; digit++) {
-            final var buckets = offsets[digit];
+            final var buckets = workspace.histogram[digit];
+
+            // if every key has the same value in this digit, the pass wouldn't change the order
+            if (buckets[extractDigit(keys[0], digit)] == length) {
+                continue;
+            }
+
+            prefixSum(buckets);
 
             for (int pos = 0; pos < length; pos++) {
                 final var index = cur[pos];
@@ -79,4 +130,24 @@ public class RadixSort extends AbstractSort {
     public static boolean useRadixSort(int length) {
         return length >= RADIX_SORT_THRESHOLD;
     }
+
+    private static class Workspace {
+        private final int[][] histogram = new int[DIGIT_COUNT][BUCKET_COUNT];
+
+        private float[] floatKeys = new float[0];
+        private int[] intKeys = new int[0];
+        private int[] indices = new int[0];
+        private int[] temp = new int[0];
+
+        private void ensureCapacity(int length) {
+            if (this.indices.length < length) {
+                int capacity = Math.max(length, this.indices.length + (this.indices.length >> 1));
+
+                this.floatKeys = new float[capacity];
+                this.intKeys = new int[capacity];
+                this.indices = new int[capacity];
+                this.temp = new int[capacity];
+            }
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package net.caffeinemc.mods.sodium.client.world;
+
+public interface BlockStateExtension {
+    /**
+     * @param generation The generation of the block state IDs which the caller's table was built with, as returned by
+     *                   {@link BlockStateIds#getGeneration()} before building it
+     * @return The index of the block state in the block state registry, which is used to index dense per-state tables,
+     * or -1 if the block state isn't registered
+     */
+    int sodium$getStateId(int generation);
+}
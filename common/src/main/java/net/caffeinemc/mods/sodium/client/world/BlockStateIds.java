@@ -0,0 +1,26 @@
+package net.caffeinemc.mods.sodium.client.world;
+
+/**
+ * Tracks the generation of the block state IDs cached by {@link BlockStateExtension}. The block state registry can be
+ * remapped after rendering has started (e.g. by registry sync when joining a server), so every cached ID is tagged
+ * with the generation it was looked up in, and IDs from an older generation are looked up again.
+ *
+ * The generation is only read once when a per-state table is built, and is then passed along with every lookup, so
+ * that looking up a cached ID doesn't need any synchronization.
+ */
+public class BlockStateIds {
+    // starts at 1 so that the zeroed field of a block state never holds a valid ID
+    private static volatile int GENERATION = 1;
+
+    public static int getGeneration() {
+        return GENERATION;
+    }
+
+    /**
+     * Invalidates the cached IDs of all block states. This must be called whenever the IDs in the block state
+     * registry may have changed.
+     */
+    public static synchronized void invalidate() {
+        GENERATION++;
+    }
+}
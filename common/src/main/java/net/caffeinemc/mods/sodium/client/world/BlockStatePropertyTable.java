@@ -0,0 +1,161 @@
+package net.caffeinemc.mods.sodium.client.world;
+
+import net.caffeinemc.mods.sodium.client.model.light.data.LightDataAccess;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.EmptyBlockGetter;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A dense table of the position-independent properties of every block state which are needed for lighting and face
+ * culling, indexed by the ID of the block state. The properties of each state are packed into a single integer:
+ *
+ * - PL: Positional light test, true if the light data of the block must be computed for each position
+ * - CO: Occlusion test, equal to {@link BlockState#canOcclude()}
+ * - LB: The amount of light blocked by the block, encoded as a 4-bit unsigned integer
+ * - The remaining upper bits hold the block's fields of the light data (FC, FO, OP, EM, AO, LU) in the format used by
+ *   {@link LightDataAccess}, unless the block has positional light data.
+ *
+ * The table is shared between all threads, and is re-created after the block state cache is rebuilt.
+ */
+public class BlockStatePropertyTable {
+    private static final int LIGHT_FLAGS_MASK = ~0xFF;
+
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+    private static volatile BlockStatePropertyTable INSTANCE;
+
+    private final int stateIdGeneration;
+    private final int[] properties;
+
+    private BlockStatePropertyTable(int stateIdGeneration, int[] properties) {
+        this.stateIdGeneration = stateIdGeneration;
+        this.properties = properties;
+    }
+
+    public static BlockStatePropertyTable get() {
+        BlockStatePropertyTable table = INSTANCE;
+
+        if (table == null) {
+            int generation = GENERATION.get();
+            table = build();
+
+            // Only publish the table if the block state cache wasn't rebuilt in the meantime
+            if (GENERATION.get() == generation) {
+                INSTANCE = table;
+            }
+        }
+
+        return table;
+    }
+
+    public static void invalidate() {
+        GENERATION.incrementAndGet();
+        INSTANCE = null;
+    }
+
+    private static BlockStatePropertyTable build() {
+        int stateIdGeneration = BlockStateIds.getGeneration();
+        int[] properties = new int[Block.BLOCK_STATE_REGISTRY.size()];
+
+        for (BlockState state : Block.BLOCK_STATE_REGISTRY) {
+            properties[Block.BLOCK_STATE_REGISTRY.getId(state)] = compute(state);
+        }
+
+        return new BlockStatePropertyTable(stateIdGeneration, properties);
+    }
+
+    /**
+     * Returns the packed properties of the block state, which can be accessed using the various unpack methods below.
+     */
+    public int getProperties(BlockState state) {
+        int stateId = ((BlockStateExtension) state).sodium$getStateId(this.stateIdGeneration);
+
+        if (stateId >= 0 && stateId < this.properties.length) {
+            return this.properties[stateId];
+        }
+
+        return compute(state);
+    }
+
+    private static int compute(BlockState state) {
+        int properties = packCO(state.canOcclude()) | packLB(state.getLightBlock());
+
+        if (hasPositionIndependentLightData(state)) {
+            properties |= computeLightFlags(state);
+        } else {
+            properties |= packPL(true);
+        }
+
+        return properties;
+    }
+
+    private static int computeLightFlags(BlockState state) {
+        var level = EmptyBlockGetter.INSTANCE;
+        var pos = BlockPos.ZERO;
+
+        boolean em = state.emissiveRendering(level, pos);
+        boolean op = state.isViewBlocking(level, pos) && state.getLightBlock() != 0;
+        boolean fo = state.isSolidRender();
+        boolean fc = state.isCollisionShapeFullBlock(level, pos);
+
+        int lu = state.getLightEmission();
+
+        // FIX: Do not apply AO from blocks that emit light
+        float ao;
+        if (lu == 0) {
+            ao = state.getShadeBrightness(level, pos);
+        } else {
+            ao = 1.0f;
+        }
+
+        return LightDataAccess.packFC(fc) | LightDataAccess.packFO(fo) | LightDataAccess.packOP(op) |
+                LightDataAccess.packEM(em) | LightDataAccess.packAO(ao) | LightDataAccess.packLU(lu);
+    }
+
+    /**
+     * None of the vanilla blocks without a dynamic shape use their position to determine their light properties, but
+     * modded blocks (or platform extensions) are free to do so, and are always computed per-position.
+     */
+    private static boolean hasPositionIndependentLightData(BlockState state) {
+        Block block = state.getBlock();
+
+        return !block.hasDynamicShape() &&
+                BuiltInRegistries.BLOCK.getKey(block).getNamespace().equals(ResourceLocation.DEFAULT_NAMESPACE);
+    }
+
+    private static int packPL(boolean positional) {
+        return (positional ? 1 : 0);
+    }
+
+    public static boolean unpackPL(int properties) {
+        return (properties & 0b1) != 0;
+    }
+
+    private static int packCO(boolean canOcclude) {
+        return (canOcclude ? 1 : 0) << 1;
+    }
+
+    public static boolean unpackCO(int properties) {
+        return ((properties >>> 1) & 0b1) != 0;
+    }
+
+    private static int packLB(int lightBlock) {
+        return (lightBlock & 0xF) << 4;
+    }
+
+    public static int unpackLB(int properties) {
+        return (properties >>> 4) & 0xF;
+    }
+
+    /**
+     * Returns the block's fields of the light data, which are only valid if the block doesn't have positional light
+     * data. The light fields (BL and SL) are always zero.
+     */
+    public static int unpackLightFlags(int properties) {
+        return properties & LIGHT_FLAGS_MASK;
+    }
+}
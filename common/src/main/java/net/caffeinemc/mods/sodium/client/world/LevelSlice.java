@@ -105,6 +105,9 @@ public final class LevelSlice implements BlockAndTintGetter, RenderAttachedBlock
     // The volume that this WorldSlice contains
     private BoundingBox volume;
 
+    // Incremented each time new data is copied into this slice
+    private int version;
+
     public static ChunkRenderContext prepare(Level level, SectionPos pos, ClonedChunkSectionCache cache) {
         LevelChunk chunk = level.getChunk(pos.getX(), pos.getZ());
         LevelChunkSection section = chunk.getSections()[level.getSectionIndexFromSectionY(pos.getY())];
@@ -174,6 +177,7 @@ public final class LevelSlice implements BlockAndTintGetter, RenderAttachedBlock
         this.originBlockZ = SectionPos.sectionToBlockCoord(context.getOrigin().getZ() - NEIGHBOR_CHUNK_RADIUS);
 
         this.volume = context.getVolume();
+        this.version++;
 
         for (int x = 0; x < SECTION_ARRAY_LENGTH; x++) {
             for (int y = 0; y < SECTION_ARRAY_LENGTH; y++) {
@@ -282,13 +286,17 @@ public final class LevelSlice implements BlockAndTintGetter, RenderAttachedBlock
 
     @Override
     public int getBrightness(LightLayer type, BlockPos pos) {
-        if (!this.volume.isInside(pos.getX(), pos.getY(), pos.getZ())) {
+        return this.getBrightness(type, pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    public int getBrightness(LightLayer type, int blockX, int blockY, int blockZ) {
+        if (!this.volume.isInside(blockX, blockY, blockZ)) {
             return 0;
         }
 
-        int relBlockX = pos.getX() - this.originBlockX;
-        int relBlockY = pos.getY() - this.originBlockY;
-        int relBlockZ = pos.getZ() - this.originBlockZ;
+        int relBlockX = blockX - this.originBlockX;
+        int relBlockY = blockY - this.originBlockY;
+        int relBlockZ = blockZ - this.originBlockZ;
 
         var lightArray = this.lightArrays[getLocalSectionIndex(relBlockX >> 4, relBlockY >> 4, relBlockZ >> 4)][type.ordinal()];
 
@@ -410,6 +418,14 @@ public final class LevelSlice implements BlockAndTintGetter, RenderAttachedBlock
         return this.biomeSlice.getBiome(pos.getX(), pos.getY(), pos.getZ());
     }
 
+    /**
+     * Returns a value which changes each time new data is copied into this slice, which allows data derived from the
+     * slice to be cached until the slice is re-used.
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
     public static int getLocalBlockIndex(int blockX, int blockY, int blockZ) {
         return (blockY << LOCAL_XYZ_BITS << LOCAL_XYZ_BITS) | (blockZ << LOCAL_XYZ_BITS) | blockX;
     }
@@ -0,0 +1,180 @@
+package net.caffeinemc.mods.sodium.client.world.biome;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.Long2ReferenceLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ReferenceOpenHashMap;
+import net.caffeinemc.mods.sodium.client.util.color.BoxBlur.ColorBuffer;
+import net.caffeinemc.mods.sodium.client.world.biome.LevelBiomeSlice.BiomeSnapshot;
+import net.minecraft.core.SectionPos;
+import net.minecraft.util.Mth;
+import net.minecraft.world.level.ColorResolver;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps the blended color planes of each chunk section around between meshing tasks, since biome colors almost never
+ * change when a section is rebuilt (i.e. after a block update). The planes of a section are computed lazily for each
+ * {@link ColorResolver} and height, and are shared by all chunk builder threads.
+ *
+ * Every entry holds a snapshot of the biome data which its planes were computed from. An entry is only re-used when the
+ * biome data, biome zoom seed and blend radius of the section are still the same, so any change to the biomes of a
+ * section (or its neighbors) discards its planes. Changes to the colormaps aren't detected, so the cache must be
+ * cleared whenever the renderer is reloaded.
+ *
+ * The sections are spread over a number of segments by their position, which each have their own lock and evict their
+ * least recently used sections independently. This keeps the chunk builder threads from contending on a single lock.
+ * The total size of all planes is bounded by a budget which grows with the render distance.
+ */
+public class BlendedColorCache {
+    private static final int SEGMENT_COUNT = 16;
+
+    // The budget for each chunk column in view, which is about enough for the planes of one section with three resolvers
+    private static final long BYTES_PER_COLUMN = 128L * 1024L;
+
+    private static final long MIN_BYTES = 16L * 1024L * 1024L;
+    private static final long MAX_BYTES = 128L * 1024L * 1024L;
+
+    private static final Segment[] SEGMENTS = new Segment[SEGMENT_COUNT];
+
+    private static volatile long maxSegmentBytes = MIN_BYTES / SEGMENT_COUNT;
+
+    static {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            SEGMENTS[i] = new Segment();
+        }
+    }
+
+    /**
+     * Returns the entry for the given section, or creates an empty one if the biome data of the section has changed
+     * since its planes were computed.
+     */
+    public static Entry acquire(SectionPos origin, LevelBiomeSlice biomeData, int blendRadius) {
+        long key = origin.asLong();
+
+        return SEGMENTS[(int) HashCommon.mix(key) & (SEGMENT_COUNT - 1)].acquire(key, biomeData, blendRadius);
+    }
+
+    /**
+     * Sizes the cache for the given render distance. Sections which exceed the new size are evicted the next time
+     * sections are added.
+     */
+    public static void setRenderDistance(int renderDistance) {
+        long columns = (long) ((renderDistance * 2) + 1) * ((renderDistance * 2) + 1);
+
+        maxSegmentBytes = Mth.clamp(columns * BYTES_PER_COLUMN, MIN_BYTES, MAX_BYTES) / SEGMENT_COUNT;
+    }
+
+    public static void clear() {
+        for (Segment segment : SEGMENTS) {
+            segment.clear();
+        }
+    }
+
+    private static class Segment {
+        private final Long2ReferenceLinkedOpenHashMap<Entry> entries = new Long2ReferenceLinkedOpenHashMap<>();
+        private long usedBytes;
+
+        private synchronized Entry acquire(long key, LevelBiomeSlice biomeData, int blendRadius) {
+            Entry entry = this.entries.getAndMoveToLast(key);
+
+            if (entry != null && entry.blendRadius == blendRadius && entry.biomeZoomSeed == biomeData.getBiomeZoomSeed() &&
+                    biomeData.hasSameBiomes(entry.biomes)) {
+                return entry;
+            }
+
+            if (entry != null) {
+                this.release(entry);
+            }
+
+            entry = new Entry(this, blendRadius, biomeData.getBiomeZoomSeed(), biomeData.snapshotBiomes());
+            this.entries.putAndMoveToLast(key, entry);
+
+            this.usedBytes += entry.bytes;
+            this.evict();
+
+            return entry;
+        }
+
+        private synchronized void clear() {
+            for (Entry entry : this.entries.values()) {
+                this.release(entry);
+            }
+
+            this.entries.clear();
+        }
+
+        private void evict() {
+            long maxBytes = maxSegmentBytes;
+
+            // The most recently used entry is never evicted, as it's about to be used
+            while (this.usedBytes > maxBytes && this.entries.size() > 1) {
+                this.release(this.entries.removeFirst());
+            }
+        }
+
+        private void release(Entry entry) {
+            entry.evicted = true;
+            this.usedBytes -= entry.bytes;
+        }
+    }
+
+    public static final class Entry {
+        private final Segment segment;
+
+        private final int blendRadius;
+        private final long biomeZoomSeed;
+        private final BiomeSnapshot biomes;
+
+        private final Reference2ReferenceOpenHashMap<ColorResolver, ColorBuffer[]> planes = new Reference2ReferenceOpenHashMap<>();
+
+        private long bytes;
+        private boolean evicted;
+
+        private Entry(Segment segment, int blendRadius, long biomeZoomSeed, BiomeSnapshot biomes) {
+            this.segment = segment;
+            this.blendRadius = blendRadius;
+            this.biomeZoomSeed = biomeZoomSeed;
+            this.biomes = biomes;
+
+            this.bytes = biomes.getSize();
+        }
+
+        /**
+         * @return The blended color plane at the given height of the section, or null if it hasn't been computed yet
+         */
+        public @Nullable ColorBuffer getPlane(ColorResolver resolver, int relY) {
+            synchronized (this.segment) {
+                ColorBuffer[] planes = this.planes.get(resolver);
+
+                return planes != null ? planes[relY] : null;
+            }
+        }
+
+        /**
+         * Stores a copy of a blended color plane of the section, unless the section was already evicted or another
+         * thread has stored the plane in the meantime. The given buffer can be re-used afterward.
+         */
+        public void putPlane(ColorResolver resolver, int relY, int height, ColorBuffer buffer) {
+            ColorBuffer copy = buffer.copy();
+
+            synchronized (this.segment) {
+                if (this.evicted) {
+                    return;
+                }
+
+                ColorBuffer[] planes = this.planes.computeIfAbsent(resolver, (key) -> new ColorBuffer[height]);
+
+                if (planes[relY] != null) {
+                    return;
+                }
+
+                planes[relY] = copy;
+
+                long size = (long) copy.data.length * Integer.BYTES;
+                this.bytes += size;
+
+                this.segment.usedBytes += size;
+                this.segment.evict();
+            }
+        }
+    }
+}
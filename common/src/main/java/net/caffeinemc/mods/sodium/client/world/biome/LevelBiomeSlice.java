@@ -1,5 +1,6 @@
 package net.caffeinemc.mods.sodium.client.world.biome;
 
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import net.caffeinemc.mods.sodium.client.world.BiomeSeedProvider;
 import net.caffeinemc.mods.sodium.client.world.LevelSlice;
 import net.caffeinemc.mods.sodium.client.world.cloned.ChunkRenderContext;
@@ -22,6 +23,8 @@ public class LevelBiomeSlice {
     private final boolean[] uniform = new boolean[SIZE * SIZE * SIZE];
     private final BiasMap bias = new BiasMap();
 
+    private Holder<Biome> uniformBiome;
+
     private long biomeZoomSeed;
 
     private int blockX, blockY, blockZ;
@@ -37,6 +40,7 @@ public class LevelBiomeSlice {
 
         this.calculateBias();
         this.calculateUniform();
+        this.calculateUniformBiome();
     }
 
     private void copyBiomeData(Level level, ChunkRenderContext context) {
@@ -86,6 +90,20 @@ public class LevelBiomeSlice {
         }
     }
 
+    private void calculateUniformBiome() {
+        Holder<Biome> first = this.biomes[0];
+        Biome biome = first.value();
+
+        for (int i = 1; i < this.biomes.length; i++) {
+            if (this.biomes[i].value() != biome) {
+                this.uniformBiome = null;
+                return;
+            }
+        }
+
+        this.uniformBiome = first;
+    }
+
     private void calculateBias() {
         int originX = this.blockX >> 2;
         int originY = this.blockY >> 2;
@@ -145,6 +163,81 @@ public class LevelBiomeSlice {
         return true;
     }
 
+    /**
+     * @return The biome of every cell in the slice, or null if the slice contains more than one biome
+     */
+    public Holder<Biome> getUniformBiome() {
+        return this.uniformBiome;
+    }
+
+    public long getBiomeZoomSeed() {
+        return this.biomeZoomSeed;
+    }
+
+    /**
+     * @return A compact copy of the biome data in the slice, which can be compared against later with
+     * {@link #hasSameBiomes}
+     */
+    @SuppressWarnings("unchecked")
+    public BiomeSnapshot snapshotBiomes() {
+        var paletteIndices = new Reference2IntOpenHashMap<Holder<Biome>>();
+        paletteIndices.defaultReturnValue(-1);
+
+        byte[] indices = new byte[this.biomes.length];
+
+        for (int i = 0; i < this.biomes.length; i++) {
+            var biome = this.biomes[i];
+            int index = paletteIndices.getInt(biome);
+
+            if (index == -1) {
+                index = paletteIndices.size();
+
+                // A slice practically never contains this many biomes, so they aren't compressed
+                if (index > 0xFF) {
+                    return new BiomeSnapshot(this.biomes.clone(), null);
+                }
+
+                paletteIndices.put(biome, index);
+            }
+
+            indices[i] = (byte) index;
+        }
+
+        Holder<Biome>[] palette = new Holder[paletteIndices.size()];
+
+        for (var entry : paletteIndices.reference2IntEntrySet()) {
+            palette[entry.getIntValue()] = entry.getKey();
+        }
+
+        return new BiomeSnapshot(palette, palette.length > 1 ? indices : null);
+    }
+
+    /**
+     * @return True if the slice contains exactly the given biome data, as returned by {@link #snapshotBiomes()}
+     */
+    public boolean hasSameBiomes(BiomeSnapshot snapshot) {
+        var palette = snapshot.palette;
+        var indices = snapshot.indices;
+
+        for (int i = 0; i < this.biomes.length; i++) {
+            Holder<Biome> biome;
+
+            if (indices != null) {
+                biome = palette[indices[i] & 0xFF];
+            } else if (palette.length == 1) {
+                biome = palette[0];
+            } else {
+                biome = palette[i];
+            }
+
+            if (this.biomes[i] != biome) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     public Holder<Biome> getBiome(int blockX, int blockY, int blockZ) {
         int relBlockX = blockX - this.blockX;
         int relBlockY = blockY - this.blockY;
@@ -253,4 +346,26 @@ public class LevelBiomeSlice {
             return this.data[(index * 3) + 2];
         }
     }
+
+    /**
+     * The biome data of a slice, stored as indices into a palette of the distinct biomes. The indices are omitted if
+     * there is only a single biome, or if there are too many biomes for a palette, in which case the palette holds the
+     * biome of every cell.
+     */
+    public static final class BiomeSnapshot {
+        private final Holder<Biome>[] palette;
+        private final byte[] indices;
+
+        private BiomeSnapshot(Holder<Biome>[] palette, byte[] indices) {
+            this.palette = palette;
+            this.indices = indices;
+        }
+
+        /**
+         * @return The approximate number of bytes used by the snapshot
+         */
+        public long getSize() {
+            return ((long) this.palette.length * Integer.BYTES) + (this.indices != null ? this.indices.length : 0);
+        }
+    }
 }
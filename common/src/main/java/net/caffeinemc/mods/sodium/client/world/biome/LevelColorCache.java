@@ -1,15 +1,23 @@
 package net.caffeinemc.mods.sodium.client.world.biome;
 
+import it.unimi.dsi.fastutil.objects.Reference2LongOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ReferenceOpenHashMap;
 import net.caffeinemc.mods.sodium.client.util.color.BoxBlur;
 import net.caffeinemc.mods.sodium.client.util.color.BoxBlur.ColorBuffer;
 import net.caffeinemc.mods.sodium.client.world.cloned.ChunkRenderContext;
+import net.minecraft.core.Holder;
+import net.minecraft.core.SectionPos;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.ColorResolver;
 import net.minecraft.world.level.biome.Biome;
 
 public class LevelColorCache {
     private static final int NEIGHBOR_BLOCK_RADIUS = 2;
+
+    // Sentinel values for the colors of uniform sections, which are otherwise stored as unsigned integers
+    private static final long UNIFORM_COLOR_UNKNOWN = Long.MIN_VALUE;
+    private static final long UNIFORM_COLOR_VARYING = -1L;
+
     private final LevelBiomeSlice biomeData;
 
     private final Reference2ReferenceOpenHashMap<ColorResolver, Slice[]> slices;
@@ -19,6 +27,13 @@ public class LevelColorCache {
 
     private final ColorBuffer tempColorBuffer;
 
+    private SectionPos origin;
+    private BlendedColorCache.Entry sharedPlanes;
+
+    // The biome of every cell around the section, or null if there is more than one biome
+    private Holder<Biome> uniformBiome;
+    private final Reference2LongOpenHashMap<ColorResolver> uniformColors;
+
     private int minBlockX, minBlockY, minBlockZ;
     private int maxBlockX, maxBlockY, maxBlockZ;
 
@@ -35,6 +50,9 @@ public class LevelColorCache {
         this.populateStamp = 1;
 
         this.tempColorBuffer = new ColorBuffer(this.sizeXZ, this.sizeXZ);
+
+        this.uniformColors = new Reference2LongOpenHashMap<>();
+        this.uniformColors.defaultReturnValue(UNIFORM_COLOR_UNKNOWN);
     }
 
     public void update(ChunkRenderContext context) {
@@ -46,10 +64,24 @@ public class LevelColorCache {
         this.maxBlockY = (context.getOrigin().maxBlockY() + NEIGHBOR_BLOCK_RADIUS);
         this.maxBlockZ = (context.getOrigin().maxBlockZ() + NEIGHBOR_BLOCK_RADIUS);
 
+        this.origin = context.getOrigin();
+        this.sharedPlanes = null;
+
+        this.uniformBiome = this.biomeData.getUniformBiome();
+        this.uniformColors.clear();
+
         this.populateStamp++;
     }
 
     public int getColor(ColorResolver resolver, int blockX, int blockY, int blockZ) {
+        if (this.uniformBiome != null) {
+            long color = this.getUniformColor(resolver);
+
+            if (color != UNIFORM_COLOR_VARYING) {
+                return (int) color;
+            }
+        }
+
         // Clamp inputs
         blockX = Mth.clamp(blockX, this.minBlockX, this.maxBlockX) - this.minBlockX;
         blockY = Mth.clamp(blockY, this.minBlockY, this.maxBlockY) - this.minBlockY;
@@ -70,6 +102,47 @@ public class LevelColorCache {
         return buffer.get(blockX + this.blendRadius, blockZ + this.blendRadius);
     }
 
+    /**
+     * When the section and its neighbors only contain one biome, the blended color is constant as long as the resolver
+     * returns the same color at every position in that biome. In that case the color buffers would be homogenous, and
+     * the blur would be skipped, so the color can be returned as-is without populating any buffers.
+     *
+     * @return The color of the section as an unsigned integer, or {@link #UNIFORM_COLOR_VARYING} if the resolver
+     * depends on the position
+     */
+    private long getUniformColor(ColorResolver resolver) {
+        long color = this.uniformColors.getLong(resolver);
+
+        if (color == UNIFORM_COLOR_UNKNOWN) {
+            color = this.computeUniformColor(resolver);
+            this.uniformColors.put(resolver, color);
+        }
+
+        return color;
+    }
+
+    private long computeUniformColor(ColorResolver resolver) {
+        Biome biome = this.uniformBiome.value();
+
+        int minBlockZ = this.minBlockZ - this.blendRadius;
+        int minBlockX = this.minBlockX - this.blendRadius;
+
+        int maxBlockZ = this.maxBlockZ + this.blendRadius;
+        int maxBlockX = this.maxBlockX + this.blendRadius;
+
+        int color = resolver.getColor(biome, minBlockX, minBlockZ);
+
+        for (int blockZ = minBlockZ; blockZ <= maxBlockZ; blockZ++) {
+            for (int blockX = minBlockX; blockX <= maxBlockX; blockX++) {
+                if (resolver.getColor(biome, blockX, blockZ) != color) {
+                    return UNIFORM_COLOR_VARYING;
+                }
+            }
+        }
+
+        return Integer.toUnsignedLong(color);
+    }
+
     private void initializeSlices(ColorResolver resolver) {
         var slice = new Slice[this.sizeY];
 
@@ -81,6 +154,23 @@ public class LevelColorCache {
     }
 
     private void updateColorBuffers(int relY, ColorResolver resolver, Slice slice) {
+        if (this.sharedPlanes == null) {
+            this.sharedPlanes = BlendedColorCache.acquire(this.origin, this.biomeData, this.blendRadius);
+        }
+
+        ColorBuffer buffer = this.sharedPlanes.getPlane(resolver, relY);
+
+        if (buffer == null) {
+            buffer = slice.scratchBuffer;
+            this.computeColorBuffer(relY, resolver, buffer);
+            this.sharedPlanes.putPlane(resolver, relY, this.sizeY, buffer);
+        }
+
+        slice.buffer = buffer;
+        slice.lastPopulateStamp = this.populateStamp;
+    }
+
+    private void computeColorBuffer(int relY, ColorResolver resolver, ColorBuffer buffer) {
         int blockY = this.minBlockY + relY;
 
         int minBlockZ = this.minBlockZ - this.blendRadius;
@@ -89,8 +179,6 @@ public class LevelColorCache {
         int maxBlockZ = this.maxBlockZ + this.blendRadius;
         int maxBlockX = this.maxBlockX + this.blendRadius;
 
-        ColorBuffer buffer = slice.buffer;
-
         for (int blockZ = minBlockZ; blockZ <= maxBlockZ; blockZ++) {
             for (int blockX = minBlockX; blockX <= maxBlockX; blockX++) {
                 Biome biome = this.biomeData.getBiome(blockX, blockY, blockZ).value();
@@ -105,16 +193,18 @@ public class LevelColorCache {
         if (this.blendRadius > 0) {
             BoxBlur.blur(buffer.data, this.tempColorBuffer.data, this.sizeXZ, this.sizeXZ, this.blendRadius);
         }
-
-        slice.lastPopulateStamp = this.populateStamp;
     }
 
     private static class Slice {
-        private final ColorBuffer buffer;
+        // The buffer which the blended colors are computed into when they aren't cached
+        private final ColorBuffer scratchBuffer;
+
+        // The blended color plane, which is either the scratch buffer or a plane shared with other meshing tasks
+        private ColorBuffer buffer;
         private long lastPopulateStamp;
 
         private Slice(int size) {
-            this.buffer = new ColorBuffer(size, size);
+            this.scratchBuffer = new ColorBuffer(size, size);
             this.lastPopulateStamp = 0;
         }
 
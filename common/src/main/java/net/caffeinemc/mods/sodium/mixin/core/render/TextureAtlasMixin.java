@@ -1,5 +1,6 @@
 package net.caffeinemc.mods.sodium.mixin.core.render;
 
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.StaticModelQuadCache;
 import net.caffeinemc.mods.sodium.client.render.texture.SpriteFinderCache;
 import net.minecraft.client.renderer.texture.SpriteLoader;
 import net.minecraft.client.renderer.texture.TextureAtlas;
@@ -21,6 +22,7 @@ public class TextureAtlasMixin {
     private void sodium$deleteSpriteFinder(SpriteLoader.Preparations preparations, CallbackInfo ci) {
         if (this.location.equals(TextureAtlas.LOCATION_BLOCKS)) {
             SpriteFinderCache.resetSpriteFinder();
+            StaticModelQuadCache.invalidate();
         }
     }
 }
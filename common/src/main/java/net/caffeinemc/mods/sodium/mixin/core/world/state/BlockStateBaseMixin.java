@@ -0,0 +1,34 @@
+package net.caffeinemc.mods.sodium.mixin.core.world.state;
+
+import net.caffeinemc.mods.sodium.client.world.BlockStateExtension;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockBehaviour;
+import net.minecraft.world.level.block.state.BlockState;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+@Mixin(BlockBehaviour.BlockStateBase.class)
+public class BlockStateBaseMixin implements BlockStateExtension {
+    // the generation of the cached ID in the upper 32 bits, and the ID itself in the lower 32 bits. This is a plain
+    // field, since both halves are written together and long fields are never split on the 64-bit JVMs which the
+    // game requires.
+    @Unique
+    private long taggedStateId;
+
+    @Override
+    public int sodium$getStateId(int generation) {
+        long tagged = this.taggedStateId;
+
+        // The block state registry can be remapped after rendering has started, so the cached ID is only valid if it
+        // was looked up in the generation of the caller's table. Racing threads in the same generation will always
+        // compute the same value.
+        if ((int) (tagged >>> 32) != generation) {
+            int id = Block.BLOCK_STATE_REGISTRY.getId((BlockState) (Object) this);
+            this.taggedStateId = ((long) generation << 32) | Integer.toUnsignedLong(id);
+
+            return id;
+        }
+
+        return (int) tagged;
+    }
+}
@@ -0,0 +1,27 @@
+package net.caffeinemc.mods.sodium.mixin.core.world.state;
+
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.BlockFaceOcclusionTable;
+import net.caffeinemc.mods.sodium.client.render.chunk.compile.pipeline.ShapeComparisonCache;
+import net.caffeinemc.mods.sodium.client.world.BlockStateIds;
+import net.caffeinemc.mods.sodium.client.world.BlockStatePropertyTable;
+import net.minecraft.world.level.block.Blocks;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(Blocks.class)
+public class BlocksMixin {
+    /**
+     * The cached properties of every block state are re-created when the cache is rebuilt, so any tables which were
+     * derived from them need to be rebuilt as well. The cache is also rebuilt after the block state registry was
+     * remapped, so the cached IDs of the block states are invalidated first.
+     */
+    @Inject(method = "rebuildCache", at = @At("RETURN"))
+    private static void sodium$invalidateStateTables(CallbackInfo ci) {
+        BlockStateIds.invalidate();
+        BlockFaceOcclusionTable.invalidate();
+        ShapeComparisonCache.clear();
+        BlockStatePropertyTable.invalidate();
+    }
+}
@@ -4,6 +4,12 @@ vec3 _vert_position;
 // The block texture coordinate of the vertex
 vec2 _vert_tex_diffuse_coord;
 
+// The bounds (min.xy, max.zw) of the block texture which is repeated across a tiled quad
+vec4 _vert_tex_tile_bounds;
+
+// The number of texture repetitions from the origin of a tiled quad to the vertex
+vec2 _vert_tex_tile_coord;
+
 // The light texture coordinate of the vertex
 vec2 _vert_tex_light_coord;
 
@@ -32,6 +38,11 @@ const float VERTEX_OFFSET = -8.0;
 const float TEXTURE_FUZZ_AMOUNT = 1.0 / 64.0;
 const float TEXTURE_GROW_FACTOR = (1.0 - TEXTURE_FUZZ_AMOUNT) / TEXTURE_MAX_COORD;
 
+// Tiled quads store their texture bounds and tile coordinates in the low bits of each position component
+const uint TILE_DATA_MASK       = 0x7FFFu;
+const uint TILE_COORD_BITS      = 5u;
+const uint TILE_COORD_MASK      = (1u << TILE_COORD_BITS) - 1u;
+
 in uvec2 a_Position;
 in vec4 a_Color;
 in uvec2 a_TexCoord;
@@ -53,14 +64,42 @@ vec2 _get_texcoord_bias() {
 }
 
 void _vert_init() {
-    _vert_position = (_deinterleave_u20x3(a_Position) * VERTEX_SCALE) + VERTEX_OFFSET;
-    _vert_color = a_Color;
-    _vert_tex_diffuse_coord = _get_texcoord() + _get_texcoord_bias();
-
-    _vert_tex_light_coord = vec2(a_LightAndData.xy) / vec2(256.0);
+    uvec3 position = _deinterleave_u20x3(a_Position);
 
     _material_params = a_LightAndData[2];
     _draw_id = a_LightAndData[3];
+
+    if (_material_use_tiling(_material_params)) {
+        uvec3 tile = position & TILE_DATA_MASK;
+
+        vec2 tileMin = _get_texcoord();
+        vec2 tileMax;
+
+        if (_material_use_planar_tiling(_material_params)) {
+            // Planar tiled quads repeat the texture once per block along the X and Z axes
+            position.xz &= ~TILE_DATA_MASK;
+
+            tileMax = vec2(tile.xz) / float(TEXTURE_MAX_COORD);
+            _vert_tex_tile_coord = vec2(position.xz) * VERTEX_SCALE;
+        } else {
+            position &= ~TILE_DATA_MASK;
+
+            tileMax = vec2(tile.xy) / float(TEXTURE_MAX_COORD);
+            _vert_tex_tile_coord = vec2(uvec2(tile.z, tile.z >> TILE_COORD_BITS) & TILE_COORD_MASK);
+        }
+
+        _vert_tex_diffuse_coord = tileMin;
+        _vert_tex_tile_bounds = vec4(tileMin + TEXTURE_GROW_FACTOR, tileMax - TEXTURE_GROW_FACTOR);
+    } else {
+        _vert_tex_diffuse_coord = _get_texcoord() + _get_texcoord_bias();
+        _vert_tex_tile_bounds = vec4(0.0);
+        _vert_tex_tile_coord = vec2(0.0);
+    }
+
+    _vert_position = (position * VERTEX_SCALE) + VERTEX_OFFSET;
+    _vert_color = a_Color;
+
+    _vert_tex_light_coord = vec2(a_LightAndData.xy) / vec2(256.0);
 }
 
 #else
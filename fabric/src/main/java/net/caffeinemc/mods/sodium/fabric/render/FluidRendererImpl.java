@@ -80,6 +80,16 @@ public class FluidRendererImpl extends FluidRenderer {
         }
     }
 
+    @Override
+    public void prepare(boolean useSurfaceMerging) {
+        this.defaultRenderer.prepare(useSurfaceMerging);
+    }
+
+    @Override
+    public void flush(ChunkBuildBuffers buffers, TranslucentGeometryCollector collector) {
+        this.defaultRenderer.flush(buffers, collector);
+    }
+
     private static class DefaultRenderContext implements FluidRendering.DefaultRenderer {
         private DefaultFluidRenderer renderer;
         private LevelSlice level;
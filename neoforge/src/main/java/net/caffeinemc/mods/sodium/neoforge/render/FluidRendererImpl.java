@@ -74,6 +74,16 @@ public class FluidRendererImpl extends FluidRenderer {
         }
     }
 
+    @Override
+    public void prepare(boolean useSurfaceMerging) {
+        this.defaultRenderer.prepare(useSurfaceMerging);
+    }
+
+    @Override
+    public void flush(ChunkBuildBuffers buffers, TranslucentGeometryCollector collector) {
+        this.defaultRenderer.flush(buffers, collector);
+    }
+
     private static class DefaultRenderContext {
         private DefaultFluidRenderer renderer;
         private LevelSlice level;